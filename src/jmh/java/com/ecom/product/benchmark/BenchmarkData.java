@@ -0,0 +1,88 @@
+package com.ecom.product.benchmark;
+
+import com.ecom.product.dto.Feature;
+import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.dto.EventType;
+import com.ecom.product.dto.Review;
+import com.ecom.product.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.bson.types.ObjectId;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkData {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Lenovo", "Bosch", "Philips"};
+
+    private BenchmarkData() {
+    }
+
+    public static Product product(int index, int featureCount) {
+        Product product = new Product();
+        product.setId(new ObjectId().toHexString());
+        product.setName(BRANDS[index % BRANDS.length] + " Model " + index + " Pro Max 256GB");
+        product.setBrand(BRANDS[index % BRANDS.length]);
+        product.setPrice(99.99 + index % 1000);
+        product.setCategoryId(new ObjectId().toHexString());
+        product.setQuantity(index % 50);
+        product.setImageUrl(url("https://cdn.example.com/products/" + index + "/main.jpg"));
+        product.setFeatures(features(featureCount));
+        product.setReviewCount(index % 500);
+        product.setVersion((long) index % 7);
+        return product;
+    }
+
+    public static List<Product> products(int count, int featureCount) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i, featureCount));
+        }
+        return products;
+    }
+
+    public static List<Feature> features(int count) {
+        List<Feature> features = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            features.add(new Feature("Feature " + i, "Detailed description of feature " + i
+                    + " covering materials, dimensions, warranty terms and compatibility notes."));
+        }
+        return features;
+    }
+
+    public static List<Review> reviews(int count) {
+        List<Review> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reviews.add(new Review("Review " + i + ": works as described, delivery was quick and the packaging"
+                    + " was fine. Battery life could be better.", Instant.now().minusSeconds(i * 3600L)));
+        }
+        return reviews;
+    }
+
+    public static ProductEvent event(int featureCount) {
+        Product product = product(1, featureCount);
+        return new ProductEvent(EventType.PRODUCT_UPDATED, product.getId(), product.getName(), product.getBrand(),
+                "Smartphones", product.getFeatures(), Instant.now(), product.getCategoryId());
+    }
+
+    // Mirrors the Boot-configured mapper: JSR-310 module, ISO dates.
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static URL url(String value) {
+        try {
+            return new URL(value);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(value, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecom.product.benchmark;
+
+import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.serialization.ProductEventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductEventBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int featureCount;
+
+    private ObjectMapper objectMapper;
+    private ProductEvent event;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkData.objectMapper();
+        event = BenchmarkData.event(featureCount);
+        binary = ProductEventCodec.encode(event);
+        json = objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return ProductEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public ProductEvent decodeBinary() {
+        return ProductEventCodec.decode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public ProductEvent decodeJson() throws IOException {
+        return objectMapper.readValue(json, ProductEvent.class);
+    }
+}
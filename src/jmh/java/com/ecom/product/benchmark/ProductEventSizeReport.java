@@ -0,0 +1,72 @@
+package com.ecom.product.benchmark;
+
+import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.serialization.ProductEventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// Per-message sizes to read alongside ProductEventBenchmark timings: raw, gzip of a single message, and
+// gzip amortized over a producer-sized batch, since Kafka compresses whole batches rather than messages.
+// Run by the jmh profile after the benchmarks; writes target/jmh-event-sizes.json.
+public final class ProductEventSizeReport {
+
+    private static final int[] FEATURE_COUNTS = {0, 5, 50};
+    private static final int BATCH_SIZE = 100;
+
+    private ProductEventSizeReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%-8s %-7s %10s %10s %16s%n", "features", "format", "raw", "gzip", "gzip/msg@" + BATCH_SIZE);
+        for (int featureCount : FEATURE_COUNTS) {
+            List<byte[]> binary = new ArrayList<>(BATCH_SIZE);
+            List<byte[]> json = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                ProductEvent event = BenchmarkData.event(featureCount);
+                binary.add(ProductEventCodec.encode(event));
+                json.add(objectMapper.writeValueAsBytes(event));
+            }
+            rows.add(row(featureCount, "binary", binary));
+            rows.add(row(featureCount, "json", json));
+        }
+        File output = new File(args.length > 0 ? args[0] : "target/jmh-event-sizes.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, rows);
+        System.out.println("Event sizes written to " + output.getPath());
+    }
+
+    private static Map<String, Object> row(int featureCount, String format, List<byte[]> messages) throws IOException {
+        byte[] first = messages.get(0);
+        int single = gzip(List.of(first));
+        int perMessageInBatch = gzip(messages) / messages.size();
+        System.out.printf("%-8d %-7s %10d %10d %16d%n", featureCount, format, first.length, single, perMessageInBatch);
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("featureCount", featureCount);
+        row.put("format", format);
+        row.put("rawBytes", first.length);
+        row.put("gzipBytes", single);
+        row.put("gzipBytesPerMessageInBatch", perMessageInBatch);
+        row.put("batchSize", messages.size());
+        return row;
+    }
+
+    private static int gzip(List<byte[]> messages) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            for (byte[] message : messages) {
+                out.write(message);
+            }
+        }
+        return compressed.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecom.product.benchmark;
+
+import com.ecom.product.dto.ProductDto;
+import com.ecom.product.dto.Review;
+import com.ecom.product.mapper.ProductMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Reviews are served separately from the product (GET /product/{id}/reviews), so the review page
+// is rendered on its own rather than embedded in ProductDto.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"5", "50", "200"})
+    private int featureCount;
+
+    private ObjectMapper objectMapper;
+    private ProductDto product;
+    private PageImpl<ProductDto> page;
+    private PageImpl<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+        objectMapper = BenchmarkData.objectMapper();
+        product = productMapper.toDto(BenchmarkData.product(1, featureCount));
+        List<ProductDto> products = productMapper.toDtoList(BenchmarkData.products(20, featureCount));
+        page = new PageImpl<>(products, PageRequest.of(0, 20), 10_000);
+        reviews = new PageImpl<>(BenchmarkData.reviews(50), PageRequest.of(0, 50), 5_000);
+    }
+
+    @Benchmark
+    public byte[] productDto() throws IOException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] productPage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] reviewPage() throws IOException {
+        return objectMapper.writeValueAsBytes(reviews);
+    }
+}
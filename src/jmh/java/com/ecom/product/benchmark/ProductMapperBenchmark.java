@@ -0,0 +1,65 @@
+package com.ecom.product.benchmark;
+
+import com.ecom.product.dto.ProductDto;
+import com.ecom.product.dto.ProductSummaryDto;
+import com.ecom.product.entity.Product;
+import com.ecom.product.mapper.ProductMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"5", "50"})
+    private int featureCount;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ProductMapper productMapper;
+    private Product product;
+    private Page<Product> page;
+
+    @Setup
+    public void setUp() {
+        productMapper = Mappers.getMapper(ProductMapper.class);
+        product = BenchmarkData.product(1, featureCount);
+        page = new PageImpl<>(BenchmarkData.products(pageSize, featureCount), PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public ProductDto toDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public Page<ProductDto> toDtoPage() {
+        return productMapper.toDtoPage(page);
+    }
+
+    @Benchmark
+    public List<ProductSummaryDto> toSummaryDtoList() {
+        return productMapper.toSummaryDtoList(page.getContent());
+    }
+}
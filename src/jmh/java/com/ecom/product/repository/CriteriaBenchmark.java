@@ -0,0 +1,73 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.helper.CursorCodec;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lives next to the criteria builders it measures.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CriteriaBenchmark {
+
+    @Param({"none", "price", "category", "name", "price+category", "price+category+name"})
+    private String filter;
+
+    private double min;
+    private double max;
+    private String category;
+    private String searchBy;
+    private CursorCodec.Cursor cursor;
+
+    @Setup
+    public void setUp() {
+        min = filter.contains("price") ? 100 : 0;
+        max = filter.contains("price") ? 2000 : Double.MAX_VALUE;
+        category = filter.contains("category") ? new ObjectId().toHexString() : null;
+        searchBy = filter.contains("name") ? "Apple iPhone 15" : null;
+        cursor = new CursorCodec.Cursor(499.0, new ObjectId().toHexString());
+    }
+
+    @Benchmark
+    public List<Criteria> buildCriteria() {
+        return ProductRepositoryImpl.buildCriteria(min, max, category, searchBy);
+    }
+
+    @Benchmark
+    public Document offsetQuery() {
+        Query query = new Query().with(PageRequest.of(3, 20, Sort.Direction.ASC, "price"));
+        List<Criteria> criteriaList = ProductRepositoryImpl.buildCriteria(min, max, category, searchBy);
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+        return query.getQueryObject();
+    }
+
+    @Benchmark
+    public Document keysetQuery() {
+        List<Criteria> criteriaList = ProductRepositoryImpl.buildCriteria(min, max, category, searchBy);
+        criteriaList.add(ProductRepositoryImpl.keysetCriteria("price", true, cursor));
+        return new Query(new Criteria().andOperator(criteriaList.toArray(new Criteria[0]))).getQueryObject();
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecom.product.loadtest;
+
+import com.ecom.product.dto.BulkImportResponse;
+import com.ecom.product.dto.BulkImportResult;
+import com.ecom.product.dto.Feature;
+import com.ecom.product.dto.ProductRequest;
+import com.ecom.product.dto.ReviewRequest;
+import com.ecom.product.entity.Category;
+import com.ecom.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Categories and products go through the public API (so the dictionary, caches and indexes are
+// fed exactly as in production); reviews go straight to ProductService to keep seeding fast.
+@Slf4j
+public class CatalogSeeder {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Lenovo", "Bosch", "Philips", "Dell", "LG"};
+    private static final int BULK_CHUNK = 1000;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final ProductService productService;
+    private final String baseUrl;
+    private final Random random;
+
+    public CatalogSeeder(HttpClient client, ObjectMapper objectMapper, ProductService productService, String baseUrl,
+                         long seed) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.productService = productService;
+        this.baseUrl = baseUrl;
+        this.random = new Random(seed);
+    }
+
+    public Catalog seed(LoadTestConfig config) throws IOException, InterruptedException {
+        List<String> categories = new ArrayList<>(config.getCategories());
+        for (int i = 0; i < config.getCategories(); i++) {
+            String name = "Category " + i;
+            post("/category/add", objectMapper.writeValueAsBytes(new Category(null, name)));
+            categories.add(name);
+        }
+
+        List<String> productIds = new ArrayList<>(config.getProducts());
+        List<ProductRequest> chunk = new ArrayList<>(BULK_CHUNK);
+        for (int i = 0; i < config.getProducts(); i++) {
+            chunk.add(productRequest(i, categories, config.getFeaturesPerProduct()));
+            if (chunk.size() == BULK_CHUNK || i == config.getProducts() - 1) {
+                BulkImportResponse response = objectMapper.readValue(
+                        post("/product/bulk?isAdmin=true", objectMapper.writeValueAsBytes(chunk)), BulkImportResponse.class);
+                response.getResults().stream()
+                        .filter(BulkImportResult::getSuccess)
+                        .forEach(result -> productIds.add(result.getProductId()));
+                chunk.clear();
+            }
+        }
+
+        for (String productId : productIds) {
+            int reviews = random.nextInt(2 * config.getReviewsPerProduct() + 1);
+            for (int i = 0; i < reviews; i++) {
+                productService.addReview(productId, new ReviewRequest("Seeded review " + i
+                        + ": solid build quality, arrived on time, would buy again."));
+            }
+        }
+        log.info("CatalogSeeder :: seeded {} categories and {} products", categories.size(), productIds.size());
+        return new Catalog(categories, productIds);
+    }
+
+    public ProductRequest productRequest(int index, List<String> categories, int featureCount) {
+        List<Feature> features = new ArrayList<>(featureCount);
+        for (int i = 0; i < Math.max(1, featureCount); i++) {
+            features.add(new Feature("Feature " + i, "Synthetic description " + i + " for product " + index
+                    + " with enough text to resemble a real specification line."));
+        }
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        return new ProductRequest(brand + " Product " + index, brand, 1 + random.nextInt(100_000) / 100.0,
+                categories.get(random.nextInt(categories.size())), 1 + random.nextInt(100),
+                url("https://cdn.example.com/products/" + index + ".jpg"), features);
+    }
+
+    private byte[] post(String path, byte[] body) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static URL url(String value) {
+        try {
+            return new URL(value);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(value, e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Catalog {
+        private final List<String> categories;
+        private final List<String> productIds;
+    }
+}
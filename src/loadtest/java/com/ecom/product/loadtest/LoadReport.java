@@ -0,0 +1,83 @@
+package com.ecom.product.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// Thresholds are "<endpoint>.<metric>=<limit>" where metric is p50-ms, p99-ms, p999-ms or
+// max-error-rate; "*" as the endpoint applies a limit to every endpoint.
+public class LoadReport {
+
+    private final Map<String, Map<String, LoadRunner.EndpointResult>> scenarios = new LinkedHashMap<>();
+
+    public void add(String scenario, Map<String, LoadRunner.EndpointResult> results) {
+        scenarios.put(scenario, results);
+    }
+
+    public void print() {
+        System.out.printf("%n%-22s %-10s %10s %10s %10s %10s %10s %10s %8s%n", "scenario", "endpoint", "requests",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        scenarios.forEach((scenario, results) -> results.values().forEach(result ->
+                System.out.printf("%-22s %-10s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %7.2f%%%n", scenario,
+                        result.getName(), result.getCount(), result.getThroughput(), result.percentileMillis(50),
+                        result.percentileMillis(99), result.percentileMillis(99.9), result.maxMillis(),
+                        result.getErrorRate() * 100)));
+    }
+
+    public void write(File output, LoadTestConfig config) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("rate", config.getRate());
+        document.put("durationSeconds", config.getDurationSeconds());
+        document.put("products", config.getProducts());
+        document.put("mix", config.getMix());
+        Map<String, Object> scenarioResults = new LinkedHashMap<>();
+        scenarios.forEach((scenario, results) -> {
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            results.values().forEach(result -> endpoints.put(result.getName(), summary(result)));
+            scenarioResults.put(scenario, endpoints);
+        });
+        document.put("scenarios", scenarioResults);
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, document);
+    }
+
+    public List<String> violations(File thresholdsFile) throws IOException {
+        Properties thresholds = new Properties();
+        try (InputStream in = new FileInputStream(thresholdsFile)) {
+            thresholds.load(in);
+        }
+        List<String> violations = new ArrayList<>();
+        scenarios.forEach((scenario, results) -> results.values().forEach(result -> {
+            Map<String, Double> actual = summary(result);
+            for (String metric : List.of("p50-ms", "p99-ms", "p999-ms", "max-error-rate")) {
+                String limit = thresholds.getProperty(result.getName() + "." + metric, thresholds.getProperty("*." + metric));
+                double value = actual.get("max-error-rate".equals(metric) ? "error-rate" : metric);
+                if (null != limit && value > Double.parseDouble(limit)) {
+                    violations.add(String.format("%s/%s %s = %.3f exceeds %s", scenario, result.getName(), metric, value, limit));
+                }
+            }
+        }));
+        return violations;
+    }
+
+    private Map<String, Double> summary(LoadRunner.EndpointResult result) {
+        Map<String, Double> summary = new LinkedHashMap<>();
+        summary.put("requests", (double) result.getCount());
+        summary.put("throughput", result.getThroughput());
+        summary.put("p50-ms", result.percentileMillis(50));
+        summary.put("p99-ms", result.percentileMillis(99));
+        summary.put("p999-ms", result.percentileMillis(99.9));
+        summary.put("max-ms", result.maxMillis());
+        summary.put("error-rate", result.getErrorRate());
+        return summary;
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecom.product.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Open-model driver: requests start on a fixed schedule whether or not earlier ones finished, and
+// latency is measured from the scheduled start, so a stalled server shows up in the tail instead
+// of silently lowering the offered rate (no coordinated omission).
+@Slf4j
+public class LoadRunner {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient client;
+    private final Random random;
+
+    public LoadRunner(HttpClient client, long seed) {
+        this.client = client;
+        this.random = new Random(seed);
+    }
+
+    public Map<String, EndpointResult> run(List<Endpoint> endpoints, int rate, int warmupSeconds, int durationSeconds)
+            throws InterruptedException {
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        int totalWeight = 0;
+        for (Endpoint endpoint : endpoints) {
+            results.put(endpoint.name, new EndpointResult(endpoint.name, durationSeconds));
+            totalWeight += endpoint.weight;
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (long next = start; next < end; next += intervalNanos) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pick(endpoints, totalWeight);
+            EndpointResult result = results.get(endpoint.name);
+            long scheduled = next;
+            boolean measured = scheduled >= measureFrom;
+            inFlight.incrementAndGet();
+            client.sendAsync(endpoint.request.get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        if (measured) {
+                            result.record(System.nanoTime() - scheduled, null == ex && response.statusCode() < 400);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("LoadRunner :: {} requests still in flight after the drain timeout", inFlight.get());
+        }
+        return results;
+    }
+
+    private Endpoint pick(List<Endpoint> endpoints, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            roll -= endpoint.weight;
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    @AllArgsConstructor
+    public static class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Supplier<HttpRequest> request;
+    }
+
+    public static class EndpointResult {
+
+        private final String name;
+        private final int durationSeconds;
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        EndpointResult(String name, int durationSeconds) {
+            this.name = name;
+            this.durationSeconds = durationSeconds;
+        }
+
+        void record(long latencyNanos, boolean success) {
+            latencies.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return latencies.getTotalCount();
+        }
+
+        public double getThroughput() {
+            return (double) latencies.getTotalCount() / durationSeconds;
+        }
+
+        public double getErrorRate() {
+            return 0 == latencies.getTotalCount() ? 0 : (double) errors.sum() / latencies.getTotalCount();
+        }
+
+        public double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1_000_000d;
+        }
+
+        public double maxMillis() {
+            return latencies.getMaxValue() / 1_000_000d;
+        }
+    }
+}
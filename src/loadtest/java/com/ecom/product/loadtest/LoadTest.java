@@ -0,0 +1,160 @@
+package com.ecom.product.loadtest;
+
+import com.ecom.product.ProductApplication;
+import com.ecom.product.dto.FilterProductsRequest;
+import com.ecom.product.dto.ProductBatchRequest;
+import com.ecom.product.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Boots the service against embedded Mongo and Kafka, seeds a synthetic catalog, drives a mixed
+// workload at a fixed arrival rate and fails (exit code 1) when a threshold is exceeded.
+@Slf4j
+public class LoadTest {
+
+    private static final String TOPIC = "product.events";
+    private static final int BATCH_IDS = 20;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        LoadReport report = new LoadReport();
+        // One scenario per execution mode and category join, each against a fresh database and the same
+        // workload: load.execution-modes=platform,virtual compares the Tomcat pool with virtual threads,
+        // load.category-joins=dictionary,lookup (with load.product-cache=false) the two detail read paths.
+        try (StandIns standIns = new StandIns(TOPIC)) {
+            for (String mode : config.getExecutionModeList()) {
+                for (String categoryJoin : config.getCategoryJoinList()) {
+                    Map<String, Object> overrides = new HashMap<>();
+                    overrides.put("product.execution.mode", mode);
+                    overrides.put("server.tomcat.threads.max", config.getTomcatMaxThreads());
+                    overrides.put("product.read.category-join", categoryJoin);
+                    if (!config.isProductCache()) {
+                        overrides.put("product.cache.max-size", 0);
+                    }
+                    String scenario = mode + "-" + categoryJoin;
+                    report.add(scenario, runScenario(scenario, config, standIns, overrides));
+                }
+            }
+        }
+
+        report.print();
+        report.write(new File(config.getOutput()), config);
+        List<String> violations = report.violations(new File(config.getThresholds()));
+        violations.forEach(violation -> log.error("LoadTest :: threshold violated :: {}", violation));
+        if (!violations.isEmpty() && config.isFailOnRegression()) {
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    // Each scenario gets its own database so runs start from the same seeded state.
+    static Map<String, LoadRunner.EndpointResult> runScenario(String scenario, LoadTestConfig config, StandIns standIns,
+                                                              Map<String, Object> overrides) throws Exception {
+        Map<String, Object> properties = new HashMap<>(standIns.applicationProperties());
+        properties.put("spring.data.mongodb.database", "loadtest-" + scenario);
+        properties.put("server.port", 0);
+        properties.put("kafka.topic.product-events", TOPIC);
+        properties.put("product.node-id", "loadtest");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(config.getClientThreads());
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductApplication.class)
+                .properties(properties)
+                .run()) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            CatalogSeeder seeder = new CatalogSeeder(client, objectMapper, context.getBean(ProductService.class),
+                    baseUrl, config.getSeed());
+            CatalogSeeder.Catalog catalog = seeder.seed(config);
+
+            List<LoadRunner.Endpoint> endpoints = endpoints(config, baseUrl, objectMapper, seeder, catalog);
+            return new LoadRunner(client, config.getSeed()).run(endpoints, config.getRate(),
+                    config.getWarmupSeconds(), config.getDurationSeconds());
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static List<LoadRunner.Endpoint> endpoints(LoadTestConfig config, String baseUrl, ObjectMapper objectMapper,
+                                                       CatalogSeeder seeder, CatalogSeeder.Catalog catalog) {
+        Random random = new Random(config.getSeed());
+        AtomicInteger added = new AtomicInteger(config.getProducts());
+        List<String> productIds = catalog.getProductIds();
+        List<String> categories = catalog.getCategories();
+
+        List<LoadRunner.Endpoint> endpoints = new ArrayList<>();
+        config.getMixWeights().forEach((name, weight) -> {
+            switch (name) {
+                case "detail":
+                    endpoints.add(new LoadRunner.Endpoint(name, weight, () -> HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/product/" + productIds.get(random.nextInt(productIds.size()))))
+                            .GET().build()));
+                    break;
+                case "filtered":
+                    endpoints.add(new LoadRunner.Endpoint(name, weight, () -> {
+                        FilterProductsRequest filter = new FilterProductsRequest();
+                        filter.setMin((double) random.nextInt(500));
+                        filter.setMax(filter.getMin() + 500);
+                        filter.setCategory(categories.get(random.nextInt(categories.size())));
+                        filter.setSortBy("price");
+                        filter.setPageSize(20);
+                        return json(baseUrl + "/product/filtered-products", objectMapper, filter);
+                    }));
+                    break;
+                case "batch":
+                    endpoints.add(new LoadRunner.Endpoint(name, weight, () -> {
+                        List<String> ids = new ArrayList<>(BATCH_IDS);
+                        for (int i = 0; i < BATCH_IDS; i++) {
+                            ids.add(productIds.get(random.nextInt(productIds.size())));
+                        }
+                        return json(baseUrl + "/product/batch", objectMapper, new ProductBatchRequest(ids));
+                    }));
+                    break;
+                case "add":
+                    endpoints.add(new LoadRunner.Endpoint(name, weight, () -> json(baseUrl + "/product/add?isAdmin=true",
+                            objectMapper, seeder.productRequest(added.incrementAndGet(), categories,
+                                    config.getFeaturesPerProduct()))));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown endpoint in load.mix: " + name);
+            }
+        });
+        return endpoints;
+    }
+
+    private static HttpRequest json(String url, ObjectMapper objectMapper, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecom.product.loadtest;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// All knobs are system properties so the Maven profile (or a CI job) can override any of them.
+@Getter
+public class LoadTestConfig {
+
+    private final int rate = Integer.getInteger("load.rate", 200);
+    private final int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("load.duration-seconds", 60);
+    private final int categories = Integer.getInteger("load.categories", 20);
+    private final int products = Integer.getInteger("load.products", 10_000);
+    private final int featuresPerProduct = Integer.getInteger("load.features", 8);
+    private final int reviewsPerProduct = Integer.getInteger("load.reviews-per-product", 3);
+    private final int clientThreads = Integer.getInteger("load.client-threads", 32);
+    private final String executionModes = System.getProperty("load.execution-modes", "platform");
+    private final int tomcatMaxThreads = Integer.getInteger("load.tomcat-max-threads", 200);
+    // product.read.category-join values to compare; with the product cache off, detail and batch reads
+    // reach Mongo on every request, so the dictionary and $lookup paths are actually exercised
+    private final String categoryJoins = System.getProperty("load.category-joins", "dictionary");
+    private final boolean productCache = Boolean.parseBoolean(System.getProperty("load.product-cache", "true"));
+    private final long seed = Long.getLong("load.seed", 42L);
+    private final String mix = System.getProperty("load.mix", "detail:70,filtered:25,add:5");
+    private final String output = System.getProperty("load.output", "target/loadtest-result.json");
+    private final String thresholds = System.getProperty("load.thresholds", "src/loadtest/resources/loadtest-thresholds.properties");
+    private final boolean failOnRegression = Boolean.parseBoolean(System.getProperty("load.fail-on-regression", "true"));
+
+    public List<String> getExecutionModeList() {
+        return list(executionModes);
+    }
+
+    public List<String> getCategoryJoinList() {
+        return list(categoryJoins);
+    }
+
+    private static List<String> list(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public Map<String, Integer> getMixWeights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+}
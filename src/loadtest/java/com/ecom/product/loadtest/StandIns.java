@@ -0,0 +1,44 @@
+package com.ecom.product.loadtest;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// In-process Kafka (KRaft, no ZooKeeper) and a downloaded mongod started by flapdoodle.
+@Slf4j
+public class StandIns implements AutoCloseable {
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final EmbeddedKafkaKraftBroker kafka;
+
+    public StandIns(String topic) {
+        this.mongod = Mongod.instance().start(Version.Main.V6_0);
+        this.kafka = new EmbeddedKafkaKraftBroker(1, 3, topic);
+        this.kafka.afterPropertiesSet();
+        log.info("StandIns :: started mongod at {} and Kafka at {}", mongod.current().getServerAddress(),
+                kafka.getBrokersAsString());
+    }
+
+    public Map<String, Object> applicationProperties() {
+        ServerAddress address = mongod.current().getServerAddress();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.data.mongodb.host", address.getHost());
+        properties.put("spring.data.mongodb.port", address.getPort());
+        properties.put("spring.data.mongodb.database", "loadtest");
+        properties.put("kafka.url", kafka.getBrokersAsString());
+        return properties;
+    }
+
+    @Override
+    public void close() {
+        kafka.destroy();
+        mongod.close();
+    }
+}
@@ -0,0 +1,228 @@
+package com.ecom.product.cache;
+
+import com.ecom.product.entity.Category;
+import com.ecom.product.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class CategoryDictionary {
+
+    private static final int REFRESH_ATTEMPTS = 3;
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<String, Boolean> missing;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter negativeHits;
+    private final Counter refreshes;
+    private final Counter refreshFailures;
+
+    private volatile Map<String, String> idToName = Collections.emptyMap();
+    private volatile Map<String, String> nameToId = Collections.emptyMap();
+    // bumped by every put/remove, so a refresh can tell its read raced a write
+    private long epoch;
+
+    public CategoryDictionary(CategoryRepository categoryRepository, MeterRegistry meterRegistry,
+                              @Value("${category.dictionary.negative-ttl-ms:5000}") long negativeTtlMs) {
+        this.categoryRepository = categoryRepository;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMs))
+                .build();
+        this.hits = meterRegistry.counter("category.dictionary.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("category.dictionary.lookups", "result", "miss");
+        this.negativeHits = meterRegistry.counter("category.dictionary.lookups", "result", "known-missing");
+        this.refreshes = meterRegistry.counter("category.dictionary.refreshes", "result", "success");
+        this.refreshFailures = meterRegistry.counter("category.dictionary.refreshes", "result", "failure");
+        meterRegistry.gauge("category.dictionary.size", this, dictionary -> dictionary.idToName.size());
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    // Reads the collection without the lock, so writers and request threads never wait on Mongo, and
+    // only publishes if no put/remove ran meanwhile; otherwise it reads again.
+    @Scheduled(fixedDelayString = "${category.dictionary.refresh-interval-ms:60000}",
+            initialDelayString = "${category.dictionary.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            for (int attempt = 0; attempt < REFRESH_ATTEMPTS; attempt++) {
+                long readEpoch = currentEpoch();
+                List<Category> categories = categoryRepository.findAll();
+                Map<String, String> ids = new HashMap<>();
+                Map<String, String> names = new HashMap<>();
+                for (Category category : categories) {
+                    ids.put(category.getId(), category.getName());
+                    names.put(category.getName(), category.getId());
+                }
+                writeLock.lock();
+                try {
+                    if (epoch == readEpoch) {
+                        swap(ids, names);
+                        missing.invalidateAll();
+                        refreshes.increment();
+                        log.debug("CategoryDictionary :: refresh :: loaded {} categories", ids.size());
+                        return;
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            log.debug("CategoryDictionary :: refresh :: writes kept racing the read, keeping current entries");
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            log.warn("CategoryDictionary :: refresh :: failed, keeping previous entries", e);
+        }
+    }
+
+    public String getIdByName(String name) {
+        if (null == name || name.isBlank()) {
+            return "";
+        }
+        String id = nameToId.get(name);
+        if (null != id) {
+            hits.increment();
+            return id;
+        }
+        return lookupMissing("name:" + name, () -> categoryRepository.findByName(name), Category::getId);
+    }
+
+    public String getNameById(String id) {
+        if (null == id || id.isBlank()) {
+            return "";
+        }
+        String name = idToName.get(id);
+        if (null != name) {
+            hits.increment();
+            return name;
+        }
+        return lookupMissing("id:" + id, () -> categoryRepository.findById(id), Category::getName);
+    }
+
+    // A miss may be a category created on another node since the last refresh, so it is checked once in
+    // Mongo; keys Mongo does not know are remembered briefly, so unknown names and ids of deleted
+    // categories do not reach the database on every request.
+    private String lookupMissing(String key, Supplier<Optional<Category>> query,
+                                 Function<Category, String> value) {
+        if (null != missing.getIfPresent(key)) {
+            negativeHits.increment();
+            return "";
+        }
+        misses.increment();
+        Optional<Category> category = query.get();
+        if (category.isEmpty()) {
+            missing.put(key, Boolean.TRUE);
+            return "";
+        }
+        put(category.get());
+        return value.apply(category.get());
+    }
+
+    // Batch form of getIdByName: dictionary hits first, then one query for the names neither the
+    // dictionary nor the negative cache knows. Names that do not exist are absent from the result.
+    public Map<String, String> getIdsByNames(Collection<String> names) {
+        Map<String, String> ids = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (String name : names) {
+            if (null == name || name.isBlank()) {
+                continue;
+            }
+            String id = nameToId.get(name);
+            if (null != id) {
+                hits.increment();
+                ids.put(name, id);
+            } else if (null != missing.getIfPresent("name:" + name)) {
+                negativeHits.increment();
+            } else {
+                misses.increment();
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Category category : categoryRepository.findByNameIn(unknown)) {
+                put(category);
+                ids.put(category.getName(), category.getId());
+            }
+            unknown.stream().filter(name -> !ids.containsKey(name)).forEach(name -> missing.put("name:" + name, Boolean.TRUE));
+        }
+        return ids;
+    }
+
+    public Map<String, String> getNamesById() {
+        return idToName;
+    }
+
+    public Map<String, String> getIdsByName() {
+        return nameToId;
+    }
+
+    public void put(Category category) {
+        writeLock.lock();
+        try {
+            Map<String, String> ids = new HashMap<>(idToName);
+            Map<String, String> names = new HashMap<>(nameToId);
+            String previousName = ids.put(category.getId(), category.getName());
+            if (null != previousName) {
+                names.remove(previousName);
+            }
+            names.put(category.getName(), category.getId());
+            swap(ids, names);
+            epoch++;
+        } finally {
+            writeLock.unlock();
+        }
+        missing.invalidate("id:" + category.getId());
+        missing.invalidate("name:" + category.getName());
+    }
+
+    public void remove(String id) {
+        writeLock.lock();
+        try {
+            Map<String, String> ids = new HashMap<>(idToName);
+            Map<String, String> names = new HashMap<>(nameToId);
+            Optional.ofNullable(ids.remove(id)).ifPresent(names::remove);
+            swap(ids, names);
+            epoch++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long currentEpoch() {
+        writeLock.lock();
+        try {
+            return epoch;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void swap(Map<String, String> ids, Map<String, String> names) {
+        this.idToName = Collections.unmodifiableMap(ids);
+        this.nameToId = Collections.unmodifiableMap(names);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecom.product.cache;
+
+import com.ecom.product.dto.ProductChangedEvent;
+import com.ecom.product.dto.ProductDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class ProductCache {
+
+    private final Cache<String, ProductDto> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${product.cache.max-size:10000}") long maxSize,
+                        @Value("${product.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product.detail");
+    }
+
+    // Concurrent misses for the same id wait on a single loader call.
+    public Optional<ProductDto> get(String productId, Function<String, ProductDto> loader) {
+        return Optional.ofNullable(cache.get(productId, loader));
+    }
+
+    public ProductDto getIfPresent(String productId) {
+        return cache.getIfPresent(productId);
+    }
+
+    // Read before loading outside get(id, loader), then passed to putIfNotInvalidated.
+    public long invalidationMark() {
+        return invalidations.get();
+    }
+
+    // Caches a DTO read outside the cache's own loader unless an invalidation ran since the read started,
+    // which could mean the read saw the product before a write. The check runs under the entry's lock, and
+    // invalidate bumps the counter before removing, so a stale DTO cannot slip in after the removal.
+    public void putIfNotInvalidated(String productId, ProductDto productDto, long invalidationMark) {
+        cache.asMap().compute(productId, (id, current) ->
+                invalidations.get() == invalidationMark ? productDto : current);
+    }
+
+    public void invalidate(String productId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(productId);
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+}
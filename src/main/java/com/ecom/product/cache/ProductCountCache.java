@@ -0,0 +1,39 @@
+package com.ecom.product.cache;
+
+import com.ecom.product.dto.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class ProductCountCache {
+
+    private final Cache<String, Long> cache;
+
+    public ProductCountCache(MeterRegistry meterRegistry,
+                             @Value("${product.count-cache.max-size:1000}") long maxSize,
+                             @Value("${product.count-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product.count");
+    }
+
+    public long get(String criteriaKey, Function<String, Long> counter) {
+        return cache.get(criteriaKey, counter);
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidateAll();
+    }
+}
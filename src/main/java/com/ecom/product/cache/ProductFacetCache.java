@@ -0,0 +1,49 @@
+package com.ecom.product.cache;
+
+import com.ecom.product.dto.FacetedPage;
+import com.ecom.product.dto.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class ProductFacetCache {
+
+    private final Cache<String, FacetedPage<?>> cache;
+    private final boolean enabled;
+
+    public ProductFacetCache(MeterRegistry meterRegistry,
+                             @Value("${product.facets.cache.enabled:true}") boolean enabled,
+                             @Value("${product.facets.cache.max-size:1000}") long maxSize,
+                             @Value("${product.facets.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product.facets");
+    }
+
+    // Cached entries hold only the total and facet counts of a filter, never page content.
+    public FacetedPage<?> getIfPresent(String filterKey) {
+        return enabled ? cache.getIfPresent(filterKey) : null;
+    }
+
+    public void put(String filterKey, FacetedPage<?> facets) {
+        if (enabled) {
+            cache.put(filterKey, facets);
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,367 @@
+package com.ecom.product.catalog;
+
+import com.ecom.product.dto.ProductChangedEvent;
+import com.ecom.product.entity.Product;
+import com.ecom.product.helper.IntSort;
+import com.ecom.product.helper.ProductChangeTracker;
+import com.ecom.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class ColumnarCatalog {
+
+    // Quantity and review count are stored only as sort keys; no filter reads them.
+    private static final List<String> SORT_FIELDS =
+            List.of("id", "name", "brand", "categoryId", "price", "quantity", "reviewCount");
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final Counter served;
+    private final Counter fallbacks;
+    private final ProductChangeTracker changes;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Slot of every loaded product in the column arrays; slots of deleted products are reused.
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private volatile Snapshot snapshot;
+
+    public ColumnarCatalog(ProductRepository productRepository, MeterRegistry meterRegistry,
+                           @Value("${product.catalog.columnar.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.served = meterRegistry.counter("product.catalog.queries", "result", "served");
+        this.fallbacks = meterRegistry.counter("product.catalog.queries", "result", "fallback");
+        this.changes = new ProductChangeTracker("ColumnarCatalog", productRepository);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            if (!enabled) {
+                return;
+            }
+            try {
+                slots.clear();
+                freeSlots.clear();
+                Columns columns = new Columns(1024);
+                try (Stream<Product> products = productRepository.streamAllProducts()) {
+                    products.forEach(product -> {
+                        int slot = columns.append();
+                        slots.put(product.getId(), slot);
+                        columns.set(slot, product);
+                    });
+                }
+                int[] all = IntStream.range(0, columns.size).toArray();
+                Map<String, int[]> orders = new HashMap<>();
+                for (String field : SORT_FIELDS) {
+                    int[] order = all.clone();
+                    IntSort.sort(order, comparator(field, columns));
+                    orders.put(field, order);
+                }
+                snapshot = new Snapshot(columns, orders);
+                log.info("ColumnarCatalog :: rebuild :: loaded {} products", all.length);
+            } catch (RuntimeException e) {
+                log.warn("ColumnarCatalog :: rebuild :: failed, filters fall back to Mongo until the next refresh", e);
+                snapshot = null;
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (enabled) {
+            changes.markChanged(event.getProductId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.catalog.columnar.refresh-interval-ms:500}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            if (enabled) {
+                changes.refresh(null != snapshot, this::rebuild, this::apply);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Patches a copy of the columns and re-inserts only the changed slots: each order drops them in one
+    // pass and merges them back in after sorting the few changed slots, so a refresh is linear in the
+    // catalog rather than seven full sorts. Readers keep the previous snapshot until the swap.
+    private void apply(List<Product> updated, Set<String> deleted) {
+        try {
+            Snapshot current = snapshot;
+            Columns columns = current.columns.copy(current.columns.size + updated.size());
+            BitSet moved = new BitSet();
+            for (Product product : updated) {
+                Integer slot = slots.get(product.getId());
+                if (null == slot) {
+                    slot = freeSlots.isEmpty() ? columns.append() : freeSlots.pop();
+                    slots.put(product.getId(), slot);
+                }
+                columns.set(slot, product);
+                moved.set(slot);
+            }
+            for (String id : deleted) {
+                Integer slot = slots.remove(id);
+                if (null != slot) {
+                    columns.clear(slot);
+                    freeSlots.push(slot);
+                    moved.set(slot);
+                }
+            }
+
+            int[] changed = moved.stream().filter(slot -> null != columns.ids[slot]).toArray();
+            Map<String, int[]> orders = new HashMap<>();
+            for (String field : SORT_FIELDS) {
+                IntSort.IntComparator comparator = comparator(field, columns);
+                int[] inserted = changed.clone();
+                IntSort.sort(inserted, comparator);
+                orders.put(field, merge(current.orders.get(field), moved, inserted, comparator));
+            }
+            snapshot = new Snapshot(columns, orders);
+        } catch (RuntimeException e) {
+            // slot bookkeeping may be half applied, so the retry starts from a full load
+            snapshot = null;
+            throw e;
+        }
+    }
+
+    // Mirrors ProductRepositoryImpl.buildCriteria and Mongo's ordering (missing values first when
+    // ascending). Serves the last applied snapshot, at most one refresh behind Mongo; returns empty
+    // while the replica is cold or the sort is not on a replicated column.
+    public Optional<Page<String>> filter(Double min, Double max, String categoryId, String searchBy, Pageable pageable) {
+        Snapshot current = snapshot;
+        Sort.Order order = pageable.getSort().isSorted() ? pageable.getSort().iterator().next() : null;
+        if (null == current || (null != order && !current.orders.containsKey(order.getProperty()))
+                || pageable.getSort().stream().count() > 1) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+
+        Columns columns = current.columns;
+        boolean byName = null != searchBy && !searchBy.isBlank();
+        boolean byPrice = min > 0 || max < Double.MAX_VALUE;
+        boolean byCategory = null != categoryId && !categoryId.isBlank();
+        int categoryCode = byCategory ? columns.categoryCodes.getOrDefault(categoryId, -1) : -1;
+        if (byCategory && categoryCode < 0) {
+            served.increment();
+            return Optional.of(new PageImpl<>(List.of(), pageable, 0));
+        }
+
+        int[] rowOrder = null == order ? current.orders.get("id") : current.orders.get(order.getProperty());
+        boolean descending = null != order && order.isDescending();
+        long offset = pageable.getOffset();
+        List<String> page = new ArrayList<>(pageable.getPageSize());
+        long total = 0;
+        for (int i = 0; i < rowOrder.length; i++) {
+            int row = rowOrder[descending ? rowOrder.length - 1 - i : i];
+            if ((byPrice && !(columns.prices[row] >= min && columns.prices[row] <= max))
+                    || (byCategory && columns.categories[row] != categoryCode)
+                    || (byName && !searchBy.equals(columns.names[row]))) {
+                continue;
+            }
+            if (total >= offset && page.size() < pageable.getPageSize()) {
+                page.add(columns.ids[row]);
+            }
+            total++;
+        }
+        served.increment();
+        return Optional.of(new PageImpl<>(page, pageable, total));
+    }
+
+    private static int[] merge(int[] previous, BitSet moved, int[] inserted, IntSort.IntComparator comparator) {
+        int kept = 0;
+        for (int slot : previous) {
+            if (!moved.get(slot)) {
+                kept++;
+            }
+        }
+        int[] merged = new int[kept + inserted.length];
+        int next = 0;
+        int p = 0;
+        int q = 0;
+        while (p < previous.length || q < inserted.length) {
+            if (p < previous.length && moved.get(previous[p])) {
+                p++;
+            } else if (q >= inserted.length || (p < previous.length && comparator.compare(previous[p], inserted[q]) < 0)) {
+                merged[next++] = previous[p++];
+            } else {
+                merged[next++] = inserted[q++];
+            }
+        }
+        return merged;
+    }
+
+    // Ties are broken by id, so every order is total and a merged order equals a full sort.
+    private static IntSort.IntComparator comparator(String field, Columns columns) {
+        IntSort.IntComparator byId = (first, second) -> columns.ids[first].compareTo(columns.ids[second]);
+        IntSort.IntComparator byKey;
+        switch (field) {
+            case "name":
+                byKey = (first, second) -> compare(columns.names[first], columns.names[second]);
+                break;
+            case "brand":
+                byKey = (first, second) -> compare(columns.brands[first], columns.brands[second]);
+                break;
+            case "categoryId":
+                byKey = (first, second) -> compare(columns.categoryId(first), columns.categoryId(second));
+                break;
+            case "price":
+                byKey = (first, second) -> comparePrices(columns.prices[first], columns.prices[second]);
+                break;
+            case "quantity":
+                byKey = (first, second) -> Integer.compare(columns.quantities[first], columns.quantities[second]);
+                break;
+            case "reviewCount":
+                byKey = (first, second) -> Integer.compare(columns.reviewCounts[first], columns.reviewCounts[second]);
+                break;
+            default:
+                return byId;
+        }
+        return (first, second) -> {
+            int comparison = byKey.compare(first, second);
+            return 0 != comparison ? comparison : byId.compare(first, second);
+        };
+    }
+
+    private static int compare(String first, String second) {
+        if (null == first || null == second) {
+            return null == first ? (null == second ? 0 : -1) : 1;
+        }
+        return first.compareTo(second);
+    }
+
+    private static int comparePrices(double first, double second) {
+        if (Double.isNaN(first) || Double.isNaN(second)) {
+            return Double.isNaN(first) ? (Double.isNaN(second) ? 0 : -1) : 1;
+        }
+        return Double.compare(first, second);
+    }
+
+    // One slot per product; missing prices are NaN and missing integers MISSING, which sort first like
+    // Mongo's nulls. Slots of deleted products have a null id and are in no order.
+    private static final class Columns {
+
+        private final Map<String, Integer> categoryCodes;
+        private final List<String> categoryIds;
+        private String[] ids;
+        private String[] names;
+        private String[] brands;
+        private int[] categories;
+        private double[] prices;
+        private int[] quantities;
+        private int[] reviewCounts;
+        private int size;
+
+        private Columns(int capacity) {
+            this.categoryCodes = new HashMap<>();
+            this.categoryIds = new ArrayList<>();
+            resize(capacity);
+        }
+
+        private Columns(Columns source, int capacity) {
+            this.categoryCodes = new HashMap<>(source.categoryCodes);
+            this.categoryIds = new ArrayList<>(source.categoryIds);
+            this.ids = source.ids;
+            this.names = source.names;
+            this.brands = source.brands;
+            this.categories = source.categories;
+            this.prices = source.prices;
+            this.quantities = source.quantities;
+            this.reviewCounts = source.reviewCounts;
+            this.size = source.size;
+            resize(capacity);
+        }
+
+        private Columns copy(int capacity) {
+            return new Columns(this, Math.max(capacity, size));
+        }
+
+        private int append() {
+            if (size == ids.length) {
+                resize(Math.max(16, size * 2));
+            }
+            return size++;
+        }
+
+        private void set(int slot, Product product) {
+            ids[slot] = product.getId();
+            names[slot] = product.getName();
+            brands[slot] = product.getBrand();
+            categories[slot] = null == product.getCategoryId() ? -1 : categoryCodes.computeIfAbsent(product.getCategoryId(),
+                    key -> {
+                        categoryIds.add(key);
+                        return categoryIds.size() - 1;
+                    });
+            prices[slot] = null == product.getPrice() ? Double.NaN : product.getPrice();
+            quantities[slot] = null == product.getQuantity() ? MISSING : product.getQuantity();
+            reviewCounts[slot] = null == product.getReviewCount() ? MISSING : product.getReviewCount();
+        }
+
+        private void clear(int slot) {
+            ids[slot] = null;
+            names[slot] = null;
+            brands[slot] = null;
+            categories[slot] = -1;
+        }
+
+        private String categoryId(int slot) {
+            return categories[slot] < 0 ? null : categoryIds.get(categories[slot]);
+        }
+
+        private void resize(int capacity) {
+            ids = null == ids ? new String[capacity] : Arrays.copyOf(ids, capacity);
+            names = null == names ? new String[capacity] : Arrays.copyOf(names, capacity);
+            brands = null == brands ? new String[capacity] : Arrays.copyOf(brands, capacity);
+            categories = null == categories ? new int[capacity] : Arrays.copyOf(categories, capacity);
+            prices = null == prices ? new double[capacity] : Arrays.copyOf(prices, capacity);
+            quantities = null == quantities ? new int[capacity] : Arrays.copyOf(quantities, capacity);
+            reviewCounts = null == reviewCounts ? new int[capacity] : Arrays.copyOf(reviewCounts, capacity);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final Columns columns;
+        private final Map<String, int[]> orders;
+
+        private Snapshot(Columns columns, Map<String, int[]> orders) {
+            this.columns = columns;
+            this.orders = orders;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecom.product.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+// spring.threads.virtual.enabled=true lets Boot run Tomcat requests, MVC async work such as
+// /product/all/stream and @Scheduled refreshes on virtual threads. Boot quietly falls back to platform
+// threads below Java 21, so the mode refuses to start there instead of running on the wrong threads.
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ExecutionModeConfig {
+
+    public ExecutionModeConfig() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs a Java 21+ runtime, running on "
+                    + Runtime.version());
+        }
+        log.info("ExecutionModeConfig :: ExecutionModeConfig :: serving requests on virtual threads");
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecom.product.config;
+
+import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.serialization.ProductEventDeserializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@EnableKafka
+public class KafkaConsumerConfig {
+
+    @Value("${kafka.url}")
+    private String kafkaUri;
+
+    @Value("${kafka.value-format:json}")
+    private String valueFormat;
+
+    // Every node needs every event, so each process consumes in its own group from the latest offset.
+    // Events missed while a node is down do not matter: its caches start cold after a restart. The group
+    // never commits offsets, so the broker drops it as soon as the process leaves instead of keeping
+    // one orphaned group per pod until offset retention expires.
+    @Bean
+    public ConsumerFactory<String, ProductEvent> productEventConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaUri);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "product-service-cache-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                "binary".equalsIgnoreCase(valueFormat) ? ProductEventDeserializer.class : JsonDeserializer.class);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, ProductEvent.class.getName());
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductEvent> productEventListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ProductEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(productEventConsumerFactory());
+        factory.getContainerProperties().setObservationEnabled(true);
+        // the listener never acknowledges, so the container commits nothing either
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+}
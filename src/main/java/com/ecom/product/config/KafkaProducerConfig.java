@@ -1,6 +1,7 @@
 package com.ecom.product.config;
 
 import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.serialization.ProductEventSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,19 +21,35 @@ public class KafkaProducerConfig {
     @Value("${kafka.url}")
     private String kafkaUri;
 
+    @Value("${kafka.linger-ms:5}")
+    private Integer lingerMs;
+
+    @Value("${kafka.value-format:json}")
+    private String valueFormat;
+
+    @Value("${kafka.compression-type:none}")
+    private String compressionType;
+
     @Bean
     public ProducerFactory<String, ProductEvent> producerFactory() {
         Map<String, Object> props = new HashMap<>();
 
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaUri);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                "binary".equalsIgnoreCase(valueFormat) ? ProductEventSerializer.class : JsonSerializer.class);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
 
         return new DefaultKafkaProducerFactory<>(props);
     }
 
     @Bean
     public KafkaTemplate<String, ProductEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, ProductEvent> kafkaTemplate = new KafkaTemplate<>(producerFactory());
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
     }
 }
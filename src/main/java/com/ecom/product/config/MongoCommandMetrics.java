@@ -0,0 +1,113 @@
+package com.ecom.product.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Times every Mongo command by its query shape: the filtered field names (and operators) or the
+// aggregation stage names, never the values, so the tag set stays as small as the code paths.
+public class MongoCommandMetrics implements CommandListener {
+
+    private static final Set<String> SHAPED_COMMANDS = Set.of("find", "count", "aggregate", "findAndModify",
+            "update", "delete", "insert", "distinct");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, String[]> inFlight = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!SHAPED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue collection = command.get(event.getCommandName());
+        inFlight.put(event.getRequestId(), new String[]{
+                null != collection && collection.isString() ? collection.asString().getValue() : "",
+                shape(command)
+        });
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "failure", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(int requestId, String commandName, String result, long elapsedNanos) {
+        String[] started = inFlight.remove(requestId);
+        if (null == started) {
+            return;
+        }
+        Timer.builder("product.mongo.commands")
+                .tag("command", commandName)
+                .tag("collection", started[0])
+                .tag("shape", started[1])
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String shape(BsonDocument command) {
+        if (command.containsKey("pipeline") && command.get("pipeline").isArray()) {
+            return command.getArray("pipeline").stream()
+                    .filter(BsonValue::isDocument)
+                    .map(stage -> String.join("+", stage.asDocument().keySet()))
+                    .collect(Collectors.joining(","));
+        }
+        for (String key : List.of("filter", "query", "q")) {
+            if (command.containsKey(key) && command.get(key).isDocument()) {
+                return fields(command.getDocument(key));
+            }
+        }
+        if (command.containsKey("updates") || command.containsKey("deletes")) {
+            BsonValue statements = command.containsKey("updates") ? command.get("updates") : command.get("deletes");
+            if (statements.isArray() && !statements.asArray().isEmpty() && statements.asArray().get(0).isDocument()) {
+                BsonDocument first = statements.asArray().get(0).asDocument();
+                return first.containsKey("q") && first.get("q").isDocument() ? fields(first.getDocument("q")) : "";
+            }
+        }
+        return "";
+    }
+
+    private String fields(BsonDocument filter) {
+        Set<String> fields = new TreeSet<>();
+        filter.forEach((field, value) -> {
+            if (value.isDocument() && !field.startsWith("$")) {
+                fields.add(field + value.asDocument().keySet().stream()
+                        .filter(operator -> operator.startsWith("$"))
+                        .sorted()
+                        .collect(Collectors.joining()));
+            } else if (value.isArray() && field.startsWith("$")) {
+                fields.add(field + "(" + value.asArray().stream()
+                        .filter(BsonValue::isDocument)
+                        .map(clause -> fields(clause.asDocument()))
+                        .collect(Collectors.joining(";")) + ")");
+            } else {
+                fields.add(field);
+            }
+        });
+        return String.join(",", fields);
+    }
+}
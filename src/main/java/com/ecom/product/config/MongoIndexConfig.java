@@ -0,0 +1,172 @@
+package com.ecom.product.config;
+
+import com.ecom.product.entity.Category;
+import com.ecom.product.entity.Product;
+import com.ecom.product.entity.ReviewBucket;
+import com.ecom.product.helper.CursorCodec;
+import com.ecom.product.repository.ProductRepositoryImpl;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@Slf4j
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongo.index.provision:true}")
+    private boolean provision;
+
+    @Value("${mongo.index.plan-check:warn}")
+    private String planCheck;
+
+    // Provisioning and the plan check are best effort: a missing index degrades queries but must not keep
+    // the service from starting. Only plan-check=fail turns a COLLSCAN found by a successful check into an error.
+    @PostConstruct
+    public void init() {
+        if (provision) {
+            ensureIndexes();
+        }
+        if (!"off".equalsIgnoreCase(planCheck)) {
+            try {
+                verifyQueryPlans();
+            } catch (QueryPlanException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("MongoIndexConfig :: init :: could not verify query plans", e);
+            }
+        }
+    }
+
+    private void ensureIndexes() {
+        IndexOperations productIndexes = mongoTemplate.indexOps(Product.class);
+        int failed = 0;
+        failed += ensureIndex(productIndexes, new Index().on("categoryId", Sort.Direction.ASC)
+                .on("price", Sort.Direction.ASC).named("categoryId_price"), "");
+        failed += ensureIndex(productIndexes, new Index().on("price", Sort.Direction.ASC).named("price"), "");
+        failed += ensureIndex(productIndexes, new Index().on("name", Sort.Direction.ASC).named("name"), "");
+        failed += ensureIndex(mongoTemplate.indexOps(ReviewBucket.class), new Index().on("productId", Sort.Direction.ASC)
+                .on("bucket", Sort.Direction.ASC).unique().named("productId_bucket"), "");
+        failed += ensureIndex(mongoTemplate.indexOps(Category.class), new Index().on("name", Sort.Direction.ASC)
+                .unique().named("name_unique"), ", check for duplicate categories");
+        if (failed == 0) {
+            log.info("MongoIndexConfig :: ensureIndexes :: indexes provisioned");
+        } else {
+            log.warn("MongoIndexConfig :: ensureIndexes :: {} indexes could not be provisioned", failed);
+        }
+    }
+
+    private int ensureIndex(IndexOperations indexes, Index index, String hint) {
+        try {
+            indexes.ensureIndex(index);
+            return 0;
+        } catch (RuntimeException e) {
+            log.error("MongoIndexConfig :: ensureIndex :: could not create index {}{}",
+                    index.getIndexOptions().get("name"), hint, e);
+            return 1;
+        }
+    }
+
+    private void verifyQueryPlans() {
+        String products = mongoTemplate.getCollectionName(Product.class);
+        String categories = mongoTemplate.getCollectionName(Category.class);
+        String categoryId = new ObjectId().toHexString();
+        CursorCodec.Cursor cursor = new CursorCodec.Cursor(500d, new ObjectId().toHexString());
+
+        // Product filters come from the repository's own builders so the check follows the real query shapes.
+        Map<String, Document> shapes = new LinkedHashMap<>();
+        shapes.put("findProductById", findCommand(products, new Document("_id", new ObjectId())));
+        shapes.put("filterByCategoryAndPrice", productFindCommand(products,
+                ProductRepositoryImpl.buildCriteria(100d, 2000d, categoryId, null), Sort.by("price")));
+        shapes.put("filterByPrice", productFindCommand(products,
+                ProductRepositoryImpl.buildCriteria(100d, 2000d, null, null), Sort.by("price")));
+        shapes.put("filterByName", productFindCommand(products,
+                ProductRepositoryImpl.buildCriteria(0d, Double.MAX_VALUE, null, "name"), Sort.unsorted()));
+        List<Criteria> keyset = ProductRepositoryImpl.buildCriteria(100d, 2000d, null, null);
+        keyset.add(ProductRepositoryImpl.keysetCriteria("price", true, cursor));
+        shapes.put("keysetByPrice", productFindCommand(products, keyset,
+                ProductRepositoryImpl.keysetSort("price", true)));
+        shapes.put("findCategoryByName", findCommand(categories, new Document("name", "")));
+
+        List<String> collectionScans = new ArrayList<>();
+        shapes.forEach((shape, command) -> {
+            try {
+                Document explain = mongoTemplate.getDb().runCommand(new Document("explain", command)
+                        .append("verbosity", "queryPlanner"));
+                Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+                if (containsCollectionScan(winningPlan)) {
+                    collectionScans.add(shape);
+                }
+            } catch (RuntimeException e) {
+                log.warn("MongoIndexConfig :: verifyQueryPlans :: could not explain {}", shape, e);
+            }
+        });
+
+        if (collectionScans.isEmpty()) {
+            log.info("MongoIndexConfig :: verifyQueryPlans :: all query shapes use an index");
+        } else if ("fail".equalsIgnoreCase(planCheck)) {
+            throw new QueryPlanException("Query shapes resolved to COLLSCAN: " + collectionScans);
+        } else {
+            log.warn("MongoIndexConfig :: verifyQueryPlans :: query shapes resolved to COLLSCAN: {}", collectionScans);
+        }
+    }
+
+    private Document findCommand(String collection, Document filter) {
+        return new Document("find", collection).append("filter", filter);
+    }
+
+    private Document productFindCommand(String collection, List<Criteria> criteriaList, Sort sort) {
+        Query query = new Query().with(sort);
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+        // maps property names and ids the way MongoTemplate does before sending the find
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Product.class);
+        Document command = findCommand(collection, queryMapper.getMappedObject(query.getQueryObject(), entity));
+        if (sort.isSorted()) {
+            command.append("sort", queryMapper.getMappedSort(query.getSortObject(), entity));
+        }
+        return command;
+    }
+
+    private boolean containsCollectionScan(Object plan) {
+        if (plan instanceof Document) {
+            Document stage = (Document) plan;
+            if ("COLLSCAN".equals(stage.get("stage"))) {
+                return true;
+            }
+            return stage.values().stream().anyMatch(this::containsCollectionScan);
+        }
+        if (plan instanceof List) {
+            return ((List<?>) plan).stream().anyMatch(this::containsCollectionScan);
+        }
+        return false;
+    }
+
+    static class QueryPlanException extends IllegalStateException {
+        QueryPlanException(String message) {
+            super(message);
+        }
+    }
+}
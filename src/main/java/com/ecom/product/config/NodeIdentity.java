@@ -0,0 +1,30 @@
+package com.ecom.product.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Identifies this process on the origin header and in the relay lease. Resolved once, so every bean
+// sees the same id; without a configured id (no HOSTNAME) each process gets its own random one rather
+// than a literal that several nodes would share and skip each other's events under.
+@Component
+@Slf4j
+public class NodeIdentity {
+
+    private final String nodeId;
+
+    public NodeIdentity(@Value("${product.node-id:}") String configuredNodeId) {
+        if (null == configuredNodeId || configuredNodeId.isBlank()) {
+            this.nodeId = "product-" + UUID.randomUUID();
+            log.info("NodeIdentity :: NodeIdentity :: no product.node-id configured, using {}", nodeId);
+        } else {
+            this.nodeId = configuredNodeId;
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
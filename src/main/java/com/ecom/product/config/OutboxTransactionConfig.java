@@ -0,0 +1,24 @@
+package com.ecom.product.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Entity writes and their outbox rows commit together; Mongo transactions need a replica set or mongos.
+@Configuration
+@ConditionalOnProperty(name = "product.events.outbox.enabled", havingValue = "true")
+public class OutboxTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+
+    @Bean
+    public TransactionTemplate outboxTransactionTemplate(MongoTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecom.product.config;
+
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+
+// The reactive driver is always on the classpath, but its client and pool are only created for the
+// reactive read path; ProductApplication excludes the auto-configuration everywhere else.
+@Configuration
+@ConditionalOnProperty(name = "product.read.reactive.enabled", havingValue = "true")
+@ImportAutoConfiguration({MongoReactiveAutoConfiguration.class, MongoReactiveDataAutoConfiguration.class})
+public class ReactiveMongoConfig {
+}
@@ -3,20 +3,39 @@ package com.ecom.product.controller;
 import com.ecom.commons.Dto.CustomResponse;
 import com.ecom.commons.ExceptionHandler.CustomizedResponseEntityExceptionHandler;
 import com.ecom.commons.ExceptionHandler.ResourceNotFoundException;
+import com.ecom.product.dto.CursorPage;
+import com.ecom.product.dto.EstimatedPage;
+import com.ecom.product.dto.FacetedPage;
 import com.ecom.product.dto.FilterProductsRequest;
+import com.ecom.product.dto.PaginationMode;
+import com.ecom.product.dto.ProductBatchRequest;
+import com.ecom.product.dto.ProductBatchResponse;
 import com.ecom.product.dto.ProductDto;
 import com.ecom.product.dto.ProductRequest;
+import com.ecom.product.dto.ProductView;
+import com.ecom.product.dto.Review;
 import com.ecom.product.dto.ReviewRequest;
+import com.ecom.product.dto.Suggestion;
+import com.ecom.product.dto.Versioned;
+import com.ecom.product.helper.ETags;
 import com.ecom.product.service.ProductService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -26,48 +45,124 @@ import java.util.List;
 public class ProductController {
     private final ProductService productService;
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        List<ProductDto> products = productService.getAllProducts();
+    public ResponseEntity<List<? extends Versioned>> getAllProducts(@RequestParam(value = "view", defaultValue = "FULL") ProductView view,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        List<? extends Versioned> products = productService.getAllProducts(view);
         if (!products.isEmpty()) {
-            return new ResponseEntity<>(products, HttpStatus.OK);
+            String etag = ETags.forVersions(products, view.name());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(products);
         } else {
             throw new ResourceNotFoundException("No products found", 404);
         }
     }
 
+    @GetMapping(path = "/all/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(productService::streamAllProducts);
+    }
+
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductDto> getProductById(@PathVariable @NotBlank String productId) {
+    public ResponseEntity<ProductDto> getProductById(@PathVariable @NotBlank String productId,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         ProductDto product = productService.getProductById(productId);
         if (product != null) {
-            return new ResponseEntity<>(product, HttpStatus.OK);
+            String etag = ETags.forVersion(product.getId(), product.getVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(product);
         } else {
             throw new ResourceNotFoundException("No product found with specified id", 404);
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(@RequestBody @Valid ProductBatchRequest productBatchRequest) {
+        return new ResponseEntity<>(productService.getProductsByIds(productBatchRequest.getIds()), HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<? extends Versioned>> searchProducts(@RequestParam(value = "q") @NotBlank String query,
+                                                                   @RequestParam(value = "limit", defaultValue = "20") Integer limit,
+                                                                   @RequestParam(value = "view", defaultValue = "FULL") ProductView view) {
+        return new ResponseEntity<>(productService.searchProducts(query, limit, view), HttpStatus.OK);
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Suggestion>> autocomplete(@RequestParam(value = "q") @NotBlank String query,
+                                                         @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        return new ResponseEntity<>(productService.autocomplete(query, limit), HttpStatus.OK);
+    }
+
     @PostMapping("/filtered-products")
-    public ResponseEntity<Page<ProductDto>> getFilteredProducts(@RequestBody @Valid FilterProductsRequest filterProductsRequest) {
-        Page<ProductDto> products = productService.getFilteredProducts(filterProductsRequest.getMin(),
+    public ResponseEntity<?> getFilteredProducts(@RequestBody @Valid FilterProductsRequest filterProductsRequest,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (PaginationMode.CURSOR == filterProductsRequest.getPaginationMode()) {
+            CursorPage<? extends Versioned> page = productService.getFilteredProductsByCursor(filterProductsRequest.getMin(),
+                    filterProductsRequest.getMax(), filterProductsRequest.getPageSize(), filterProductsRequest.getSortBy(),
+                    filterProductsRequest.getAscending(), filterProductsRequest.getCategory(),
+                    filterProductsRequest.getSearchBy(), filterProductsRequest.getCursor(),
+                    filterProductsRequest.getView());
+            String etag = ETags.forVersions(page.getContent(), filterProductsRequest.getView() + "|" + page.getNextCursor());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(page);
+        }
+        if (Boolean.TRUE.equals(filterProductsRequest.getIncludeFacets())) {
+            FacetedPage<? extends Versioned> page = productService.getFilteredProductsWithFacets(filterProductsRequest.getMin(),
+                    filterProductsRequest.getMax(), filterProductsRequest.getPageNumber(), filterProductsRequest.getPageSize(),
+                    filterProductsRequest.getSortBy(), filterProductsRequest.getAscending(), filterProductsRequest.getCategory(),
+                    filterProductsRequest.getSearchBy(), filterProductsRequest.getPriceBuckets(),
+                    filterProductsRequest.getView());
+            String etag = ETags.forVersions(page.getContent(), filterProductsRequest.getView() + "|facets|"
+                    + page.getPageNumber() + "|" + page.getPageSize() + "|" + page.getTotalElements() + "|" + page.getFacets());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(page);
+        }
+        Page<? extends Versioned> products = productService.getFilteredProducts(filterProductsRequest.getMin(),
                 filterProductsRequest.getMax(), filterProductsRequest.getPageNumber(), filterProductsRequest.getPageSize(),
                 filterProductsRequest.getSortBy(), filterProductsRequest.getAscending(), filterProductsRequest.getCategory(),
-                filterProductsRequest.getSearchBy());
-        return new ResponseEntity<>(products, HttpStatus.OK);
+                filterProductsRequest.getSearchBy(), filterProductsRequest.getCountStrategy(),
+                filterProductsRequest.getView());
+        String etag = ETags.forVersions(products.getContent(), filterProductsRequest.getView() + "|"
+                + products.getNumber() + "|" + products.getSize() + "|" + products.getTotalElements());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (products instanceof EstimatedPage && ((EstimatedPage<?>) products).isTotalLowerBound()) {
+            // the repository took the capped count path, so the total is the cap rather than a real count
+            return ResponseEntity.ok().eTag(etag).header("X-Total-Count", products.getTotalElements() + "+")
+                    .body(products);
+        }
+        return ResponseEntity.ok().eTag(etag).body(products);
     }
 
-    @GetMapping(path = "/featured-products")
-    public ResponseEntity<List<ProductDto>> getFeaturedProducts() {
-        List<ProductDto> products = productService.getFeaturedProducts();
-        if (!products.isEmpty()) {
-            return new ResponseEntity<>(products, HttpStatus.OK);
-        } else {
-            throw new ResourceNotFoundException("No products found", 404);
+    @GetMapping(path = "/featured-products", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getFeaturedProducts(@RequestParam(value = "view", defaultValue = "FULL") ProductView view,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        byte[] products = productService.getFeaturedProducts(view);
+        String etag = ETags.forContent(products);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(products);
     }
 
     @PostMapping(path = "/add-review")
@@ -76,6 +171,13 @@ public class ProductController {
         return new ResponseEntity<>(new CustomResponse(true, "Review added Successfully"), HttpStatus.OK);
     }
 
+    @GetMapping(path = "/{productId}/reviews")
+    public ResponseEntity<Page<Review>> getReviews(@PathVariable @NotBlank String productId,
+                                                   @RequestParam(value = "pageNumber", defaultValue = "0") @Min(0) Integer pageNumber,
+                                                   @RequestParam(value = "pageSize", defaultValue = "10") @Min(1) Integer pageSize) {
+        return new ResponseEntity<>(productService.getReviews(productId, pageNumber, pageSize), HttpStatus.OK);
+    }
+
     @PostMapping(path = "/add")
     public ResponseEntity<CustomResponse> addProduct(@RequestBody @Valid ProductRequest product, @RequestParam(value = "isAdmin", required = false) Boolean isAdmin) {
         if (null == isAdmin || !isAdmin) {
@@ -87,13 +189,33 @@ public class ProductController {
 
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importProducts(@RequestBody List<ProductRequest> products, @RequestParam(value = "isAdmin", required = false) Boolean isAdmin) {
+        if (null == isAdmin || !isAdmin) {
+            return new ResponseEntity<>(new CustomResponse(false, "You don't have the privileges to import products"), HttpStatus.FORBIDDEN);
+        }
+        return new ResponseEntity<>(productService.importProducts(products.iterator()), HttpStatus.OK);
+    }
+
+    @PostMapping(path = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<?> importProductsStream(InputStream body, @RequestParam(value = "isAdmin", required = false) Boolean isAdmin) throws IOException {
+        if (null == isAdmin || !isAdmin) {
+            return new ResponseEntity<>(new CustomResponse(false, "You don't have the privileges to import products"), HttpStatus.FORBIDDEN);
+        }
+        try (MappingIterator<ProductRequest> products = objectMapper.readerFor(ProductRequest.class).readValues(body)) {
+            return new ResponseEntity<>(productService.importProducts(products), HttpStatus.OK);
+        }
+    }
+
     @PutMapping(path = "/update/{id}")
-    public ResponseEntity<CustomResponse> updateProduct(@RequestBody @Valid ProductRequest productRequest,@PathVariable @NotBlank String id, @RequestParam(value = "isAdmin") Boolean isAdmin) {
+    public ResponseEntity<CustomResponse> updateProduct(@RequestBody @Valid ProductRequest productRequest,@PathVariable @NotBlank String id, @RequestParam(value = "isAdmin") Boolean isAdmin,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (null == isAdmin || !isAdmin) {
             return new ResponseEntity<>(new CustomResponse(false, "You don't have the privileges to update this product"), HttpStatus.FORBIDDEN);
         }
-        productService.updateProduct(productRequest, id);
-        return new ResponseEntity<>(new CustomResponse(true, "Product updated successfully"), HttpStatus.CREATED);
+        Long version = productService.updateProduct(productRequest, id, ETags.parseVersion(ifMatch, id));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.forVersion(id, version))
+                .body(new CustomResponse(true, "Product updated successfully"));
     }
 
     @DeleteMapping(path = "/delete/{id}")
@@ -0,0 +1,102 @@
+package com.ecom.product.controller;
+
+import com.ecom.commons.ExceptionHandler.CustomizedResponseEntityExceptionHandler;
+import com.ecom.product.dto.FilterProductsRequest;
+import com.ecom.product.dto.PaginationMode;
+import com.ecom.product.dto.ProductDto;
+import com.ecom.product.dto.ProductView;
+import com.ecom.product.dto.Versioned;
+import com.ecom.product.helper.ETags;
+import com.ecom.product.service.ReactiveProductService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read endpoints returning Mono/Flux: Spring MVC releases the Tomcat thread while the reactive
+// Mongo driver works, and resumes the response on the driver's event loop.
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000"})
+@RequestMapping(path = "/reactive/product")
+@Import({CustomizedResponseEntityExceptionHandler.class})
+@ConditionalOnProperty(name = "product.read.reactive.enabled", havingValue = "true")
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+
+    public ReactiveProductController(ReactiveProductService reactiveProductService) {
+        this.reactiveProductService = reactiveProductService;
+    }
+
+    // Streamed one product per line (application/x-ndjson, or text/event-stream), written as the cursor
+    // yields them; a Flux rendered as application/json would be collected into one list in memory first,
+    // so clients asking only for application/json get 406 here and should use /product/all instead.
+    @GetMapping(path = "/all", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Versioned> getAllProducts(@RequestParam(value = "view", defaultValue = "FULL") ProductView view) {
+        return reactiveProductService.getAllProducts(view);
+    }
+
+    @GetMapping("/{productId}")
+    public Mono<ResponseEntity<ProductDto>> getProductById(@PathVariable @NotBlank String productId,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return reactiveProductService.getProductById(productId).map(product -> {
+            String etag = ETags.forVersion(product.getId(), product.getVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<ProductDto>build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(product);
+        });
+    }
+
+    @PostMapping("/filtered-products")
+    public Mono<ResponseEntity<Page<Versioned>>> getFilteredProducts(@RequestBody @Valid FilterProductsRequest filterProductsRequest,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (PaginationMode.OFFSET != filterProductsRequest.getPaginationMode()
+                || Boolean.TRUE.equals(filterProductsRequest.getIncludeFacets())) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The reactive read path supports offset pagination without facets"));
+        }
+        return reactiveProductService.getFilteredProducts(filterProductsRequest.getMin(), filterProductsRequest.getMax(),
+                        filterProductsRequest.getPageNumber(), filterProductsRequest.getPageSize(),
+                        filterProductsRequest.getSortBy(), filterProductsRequest.getAscending(),
+                        filterProductsRequest.getCategory(), filterProductsRequest.getSearchBy(),
+                        filterProductsRequest.getView())
+                .map(products -> {
+                    String etag = ETags.forVersions(products.getContent(), filterProductsRequest.getView() + "|"
+                            + products.getNumber() + "|" + products.getSize() + "|" + products.getTotalElements());
+                    if (ETags.matches(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Page<Versioned>>build();
+                    }
+                    return ResponseEntity.ok().eTag(etag).body(products);
+                });
+    }
+
+    @GetMapping(path = "/featured-products", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getFeaturedProducts(@RequestParam(value = "view", defaultValue = "FULL") ProductView view,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return reactiveProductService.getFeaturedProducts(view).map(products -> {
+            String etag = ETags.forContent(products);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<byte[]>build();
+            }
+            return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(products);
+        });
+    }
+}
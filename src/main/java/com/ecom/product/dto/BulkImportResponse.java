@@ -0,0 +1,17 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResponse {
+    private Integer total;
+    private Integer imported;
+    private Integer failed;
+    private List<BulkImportResult> results;
+}
@@ -0,0 +1,15 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResult {
+    private Integer index;
+    private String productId;
+    private Boolean success;
+    private String error;
+}
@@ -0,0 +1,12 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryChangedEvent {
+    private String categoryId;
+}
@@ -0,0 +1,25 @@
+package com.ecom.product.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class EstimatedPage<T> extends PageImpl<T> {
+    // true when totalElements is the count cap rather than the exact total
+    private final boolean totalLowerBound;
+
+    public EstimatedPage(List<T> content, Pageable pageable, long total, boolean totalLowerBound) {
+        super(content, pageable, total);
+        this.totalLowerBound = totalLowerBound;
+    }
+
+    // Keeps the lower-bound flag when the service maps entities to DTOs
+    @Override
+    public <U> EstimatedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new EstimatedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), totalLowerBound);
+    }
+}
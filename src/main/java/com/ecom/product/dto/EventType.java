@@ -3,5 +3,7 @@ package com.ecom.product.dto;
 public enum EventType {
     PRODUCT_CREATED,
     PRODUCT_UPDATED,
-    PRODUCT_DELETED
+    PRODUCT_DELETED,
+    CATEGORY_CREATED,
+    CATEGORY_DELETED
 }
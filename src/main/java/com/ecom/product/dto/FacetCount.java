@@ -0,0 +1,13 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCount {
+    private String value;
+    private Long count;
+}
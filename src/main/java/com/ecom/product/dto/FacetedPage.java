@@ -0,0 +1,19 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetedPage<T> {
+    private List<T> content;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private Long totalElements;
+    private Map<String, List<FacetCount>> facets;
+}
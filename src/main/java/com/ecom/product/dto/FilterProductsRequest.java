@@ -1,17 +1,30 @@
 package com.ecom.product.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 public class FilterProductsRequest {
     Double min = Double.MIN_VALUE;
     Double max = Double.MAX_VALUE;
+    @Min(0)
     Integer pageNumber = 0;
+    @Min(1)
+    @Max(1000)
     Integer pageSize = 10;
     String searchBy = "";
     String category = "";
     String sortBy = "";
     Boolean ascending = Boolean.TRUE;
+    PaginationMode paginationMode = PaginationMode.OFFSET;
+    String cursor;
+    CountStrategy countStrategy = CountStrategy.EXACT;
+    ProductView view = ProductView.FULL;
+    Boolean includeFacets = Boolean.FALSE;
+    List<Double> priceBuckets;
 }
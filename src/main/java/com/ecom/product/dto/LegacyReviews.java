@@ -0,0 +1,17 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LegacyReviews {
+    private String productId;
+    // first review position reserved for the legacy reviews
+    private Integer base;
+    private List<String> reviews;
+}
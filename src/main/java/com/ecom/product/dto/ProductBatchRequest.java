@@ -0,0 +1,16 @@
+package com.ecom.product.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchRequest {
+    @NotEmpty
+    private List<String> ids;
+}
@@ -0,0 +1,15 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchResponse {
+    private List<ProductDto> products;
+    private List<String> missingIds;
+}
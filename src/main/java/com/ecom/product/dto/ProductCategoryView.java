@@ -0,0 +1,25 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URL;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCategoryView {
+    private String id;
+    private String name;
+    private String brand;
+    private Double price;
+    private String categoryId;
+    private String categoryName;
+    private Integer quantity;
+    private URL imageUrl;
+    private List<Feature> features;
+    private Integer reviewCount;
+    private Long version;
+}
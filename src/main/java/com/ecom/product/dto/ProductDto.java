@@ -1,17 +1,17 @@
 package com.ecom.product.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProductDto {
+public class ProductDto implements Versioned {
     private String id;
     private String name;
     private String brand;
@@ -20,5 +20,10 @@ public class ProductDto {
     private Integer quantity = 1;
     private URL imageUrl;
     private List<Feature> features;
-    private ArrayList<String> reviews;
+    private Integer reviewCount = 0;
+    private Long version;
+    // Newest reviews for clients of the old embedded array, set on detail reads only; page the rest
+    // from /product/{productId}/reviews.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> reviews;
 }
@@ -20,4 +20,8 @@ public class ProductEvent {
 
     private Instant occurredAt;
 
+    private String categoryId;
+
+    // product version the event was written at; null for category events
+    private Long version;
 }
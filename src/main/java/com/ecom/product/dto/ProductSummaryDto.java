@@ -0,0 +1,20 @@
+package com.ecom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URL;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSummaryDto implements Versioned {
+    private String id;
+    private String name;
+    private String brand;
+    private Double price;
+    private URL imageUrl;
+    private String categoryId;
+    private Long version;
+}
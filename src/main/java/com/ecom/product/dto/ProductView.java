@@ -0,0 +1,6 @@
+package com.ecom.product.dto;
+
+public enum ProductView {
+    FULL,
+    SUMMARY
+}
@@ -0,0 +1,7 @@
+package com.ecom.product.dto;
+
+public enum SuggestionType {
+    PRODUCT,
+    BRAND,
+    CATEGORY
+}
@@ -0,0 +1,8 @@
+package com.ecom.product.dto;
+
+public interface Versioned {
+
+    String getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,29 @@
+package com.ecom.product.entity;
+
+import com.ecom.product.dto.ProductEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document("ProductOutboxDeadLetter")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetterEvent {
+
+    @Id
+    private String id;
+    private String productId;
+    private ProductEvent event;
+    private String originNode;
+    private Instant createdAt;
+    private Integer attempts;
+    private String lastError;
+    private Instant deadLetteredAt;
+}
@@ -0,0 +1,22 @@
+package com.ecom.product.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document("ProductMigrations")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MigrationMarker {
+
+    @Id
+    private String id;
+    private Instant completedAt;
+}
@@ -0,0 +1,31 @@
+package com.ecom.product.entity;
+
+import com.ecom.product.dto.ProductEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document("ProductOutbox")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    private String id;
+    private String productId;
+    private ProductEvent event;
+    // per-key order; _id is generated by the writing node, so it does not follow commit order across nodes
+    private Long version;
+    // node that made the write; only stamped on the origin header, any node may relay the event
+    private String originNode;
+    private Instant createdAt;
+    private Integer attempts = 0;
+    private String lastError;
+}
@@ -0,0 +1,23 @@
+package com.ecom.product.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document("ProductOutboxLease")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxLease {
+
+    @Id
+    private String id;
+    private String owner;
+    private Instant claimedUntil;
+}
@@ -8,12 +8,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.List;
 
 @Document("Products")
@@ -42,7 +42,9 @@ public class Product {
 
     private URL imageUrl;
     private List<Feature> features;
-    private ArrayList<String> reviews;
+    private Integer reviewCount = 0;
+    @Version
+    private Long version;
 
     @Override
     public String toString() {
@@ -0,0 +1,26 @@
+package com.ecom.product.entity;
+
+import com.ecom.product.dto.Review;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+@Document("Reviews")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewBucket {
+
+    @Id
+    private String id;
+    private String productId;
+    private Integer bucket;
+    private Integer count;
+    private List<Review> reviews;
+}
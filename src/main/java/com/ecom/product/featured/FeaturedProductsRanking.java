@@ -0,0 +1,168 @@
+package com.ecom.product.featured;
+
+import com.ecom.product.dto.ProductChangedEvent;
+import com.ecom.product.dto.ProductDto;
+import com.ecom.product.dto.ProductSummaryDto;
+import com.ecom.product.entity.Product;
+import com.ecom.product.helper.ProductChangeTracker;
+import com.ecom.product.mapper.ProductMapper;
+import com.ecom.product.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class FeaturedProductsRanking {
+
+    private static final Comparator<Map.Entry<String, Double>> BY_SCORE =
+            Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.<String, Double>comparingByKey());
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final FeaturedScore featuredScore;
+    private final int size;
+
+    private final ProductChangeTracker changes;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final Map<String, Double> scores = new HashMap<>();
+
+    private volatile List<String> rankedIds = Collections.emptyList();
+    private volatile List<ProductDto> featured;
+    private volatile byte[] body;
+    private volatile byte[] summaryBody;
+
+    public FeaturedProductsRanking(ProductRepository productRepository, ProductMapper productMapper,
+                                   ObjectMapper objectMapper, Map<String, FeaturedScore> featuredScores,
+                                   @Value("${product.featured.score:review-count}") String scoreName,
+                                   @Value("${product.featured.size:5}") int size) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.featuredScore = featuredScores.get(scoreName);
+        this.size = size;
+        this.changes = new ProductChangeTracker("FeaturedProductsRanking", productRepository);
+        if (null == featuredScore) {
+            throw new IllegalStateException("Unknown featured score " + scoreName + ", expected one of "
+                    + featuredScores.keySet());
+        }
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            scores.clear();
+            try (Stream<Product> products = productRepository.streamAllProducts()) {
+                products.forEach(product -> scores.put(product.getId(), featuredScore.score(product)));
+            }
+            publish(topIds());
+            log.info("FeaturedProductsRanking :: rebuild :: ranked {} products", scores.size());
+        } catch (RuntimeException e) {
+            log.warn("FeaturedProductsRanking :: rebuild :: failed, will retry on next refresh", e);
+            body = null;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        changes.markChanged(event.getProductId());
+    }
+
+    @Scheduled(fixedDelayString = "${product.featured.refresh-interval-ms:5000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            changes.refresh(null != body, this::rebuild, this::apply);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void apply(List<Product> updated, Set<String> deleted) {
+        Set<String> changed = new HashSet<>(deleted);
+        for (Product product : updated) {
+            scores.put(product.getId(), featuredScore.score(product));
+            changed.add(product.getId());
+        }
+        deleted.forEach(scores::remove);
+
+        List<String> top = topIds();
+        if (!top.equals(rankedIds) || top.stream().anyMatch(changed::contains)) {
+            publish(top);
+        }
+    }
+
+    public List<ProductDto> getFeatured() {
+        return featured;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public byte[] getSummaryBody() {
+        return summaryBody;
+    }
+
+    private List<String> topIds() {
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(size + 1, BY_SCORE);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > size) {
+                heap.poll();
+            }
+        }
+        List<String> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            top.add(heap.poll().getKey());
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    private void publish(List<String> top) {
+        Map<String, Product> products = new HashMap<>();
+        productRepository.findAllById(top).forEach(product -> products.put(product.getId(), product));
+        List<ProductDto> ranked = new ArrayList<>(top.size());
+        List<ProductSummaryDto> rankedSummaries = new ArrayList<>(top.size());
+        for (String id : top) {
+            Product product = products.get(id);
+            if (null != product) {
+                ranked.add(productMapper.toDto(product));
+                rankedSummaries.add(productMapper.toSummaryDto(product));
+            }
+        }
+        try {
+            byte[] serialized = objectMapper.writeValueAsBytes(ranked);
+            byte[] serializedSummaries = objectMapper.writeValueAsBytes(rankedSummaries);
+            this.featured = Collections.unmodifiableList(ranked);
+            this.rankedIds = top;
+            this.summaryBody = serializedSummaries;
+            this.body = serialized;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize featured products", e);
+        }
+    }
+}
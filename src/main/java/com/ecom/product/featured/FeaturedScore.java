@@ -0,0 +1,8 @@
+package com.ecom.product.featured;
+
+import com.ecom.product.entity.Product;
+
+public interface FeaturedScore {
+
+    double score(Product product);
+}
@@ -0,0 +1,14 @@
+package com.ecom.product.featured;
+
+import com.ecom.product.entity.Product;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+@Component("recency")
+public class RecencyScore implements FeaturedScore {
+
+    @Override
+    public double score(Product product) {
+        return ObjectId.isValid(product.getId()) ? new ObjectId(product.getId()).getTimestamp() : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecom.product.featured;
+
+import com.ecom.product.entity.Product;
+import org.springframework.stereotype.Component;
+
+@Component("review-count")
+public class ReviewCountScore implements FeaturedScore {
+
+    @Override
+    public double score(Product product) {
+        return null == product.getReviewCount() ? 0 : product.getReviewCount();
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecom.product.featured;
+
+import com.ecom.product.entity.Product;
+import org.springframework.stereotype.Component;
+
+@Component("stock")
+public class StockScore implements FeaturedScore {
+
+    @Override
+    public double score(Product product) {
+        return null == product.getQuantity() ? 0 : product.getQuantity();
+    }
+}
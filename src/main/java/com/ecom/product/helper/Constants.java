@@ -3,4 +3,5 @@ package com.ecom.product.helper;
 public class Constants {
     public static final Integer RESOURCE_NOT_FOUND = 404;
     public static final Integer CONFLICT = 409;
+    public static final Integer REVIEW_BUCKET_SIZE = 50;
 }
@@ -0,0 +1,86 @@
+package com.ecom.product.helper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\n";
+
+    private CursorCodec() {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private final Object sortValue;
+        private final String id;
+    }
+
+    public static String encode(String sortBy, Object sortValue, String id) {
+        String raw = sortBy + SEPARATOR + typeOf(sortValue) + SEPARATOR + id + SEPARATOR
+                + (null == sortValue ? "" : sortValue.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token, String sortBy) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (parts.length != 4 || !parts[0].equals(sortBy) || parts[2].isEmpty()) {
+            throw invalid();
+        }
+        try {
+            return new Cursor(parseValue(parts[1], parts[3]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    public static boolean isSupported(Object sortValue) {
+        return null == sortValue || sortValue instanceof String || sortValue instanceof Double
+                || sortValue instanceof Integer || sortValue instanceof Long;
+    }
+
+    private static String typeOf(Object value) {
+        if (null == value) {
+            return "n";
+        } else if (value instanceof Double) {
+            return "d";
+        } else if (value instanceof Integer) {
+            return "i";
+        } else if (value instanceof Long) {
+            return "l";
+        }
+        return "s";
+    }
+
+    private static Object parseValue(String type, String value) {
+        switch (type) {
+            case "n":
+                return null;
+            case "d":
+                return Double.valueOf(value);
+            case "i":
+                return Integer.valueOf(value);
+            case "l":
+                return Long.valueOf(value);
+            case "s":
+                return value;
+            default:
+                throw new IllegalArgumentException("Unknown cursor value type " + type);
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid or expired pagination cursor");
+    }
+}
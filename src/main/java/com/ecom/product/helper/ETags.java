@@ -0,0 +1,65 @@
+package com.ecom.product.helper;
+
+import com.ecom.product.dto.Versioned;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forVersion(String id, Long version) {
+        return "\"" + id + "-" + (null == version ? 0 : version) + "\"";
+    }
+
+    public static String forContent(byte[] content) {
+        return "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+    }
+
+    public static String forVersions(Collection<? extends Versioned> items, String pageInfo) {
+        StringBuilder builder = new StringBuilder(pageInfo).append('|');
+        for (Versioned item : items) {
+            builder.append(item.getId()).append(':').append(null == item.getVersion() ? 0 : item.getVersion()).append(';');
+        }
+        return forContent(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // If-None-Match uses the weak comparison, so W/ prefixes are ignored.
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (null == ifNoneMatch || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns the version an If-Match header pins for the product, or null when any version is acceptable.
+    public static Long parseVersion(String ifMatch, String id) {
+        if (null == ifMatch || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not identify this product");
+        }
+        try {
+            return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not identify this product");
+        }
+    }
+}
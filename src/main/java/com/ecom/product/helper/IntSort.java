@@ -0,0 +1,49 @@
+package com.ecom.product.helper;
+
+// Stable merge sort of int arrays (row or doc numbers) with a primitive comparator, so ordering
+// them by a column never boxes an index.
+public final class IntSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private IntSort() {
+    }
+
+    public static void sort(int[] values, IntComparator comparator) {
+        mergeSort(values.clone(), values, 0, values.length, comparator);
+    }
+
+    // src and dest hold the same values on entry; the halves are sorted into src and merged into dest.
+    private static void mergeSort(int[] src, int[] dest, int low, int high, IntComparator comparator) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int value = dest[i];
+                int j = i;
+                while (j > low && comparator.compare(dest[j - 1], value) > 0) {
+                    dest[j] = dest[j - 1];
+                    j--;
+                }
+                dest[j] = value;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, comparator);
+        mergeSort(dest, src, mid, high, comparator);
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
+        }
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || (p < mid && comparator.compare(src[p], src[q]) <= 0)) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    public interface IntComparator {
+        int compare(int first, int second);
+    }
+}
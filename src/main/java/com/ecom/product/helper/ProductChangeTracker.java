@@ -0,0 +1,70 @@
+package com.ecom.product.helper;
+
+import com.ecom.product.entity.Product;
+import com.ecom.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Change tracking shared by the in-memory read models. ProductChangedEvents mark ids dirty; the
+// owner's scheduled refresh drains them, reloads the products with one findAllById and applies them
+// as upserts and deletions. Until the owner has a snapshot every refresh is a full rebuild instead.
+@Slf4j
+public final class ProductChangeTracker {
+
+    private final String owner;
+    private final ProductRepository productRepository;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public ProductChangeTracker(String owner, ProductRepository productRepository) {
+        this.owner = owner;
+        this.productRepository = productRepository;
+    }
+
+    public void markChanged(String productId) {
+        dirty.add(productId);
+    }
+
+    public boolean hasChanges() {
+        return !dirty.isEmpty();
+    }
+
+    // Callers hold their own ReentrantLock, so refreshes of one index never overlap and a virtual thread
+    // waiting on the reload does not pin its carrier the way a monitor would. A failed reload puts the
+    // ids back, and the changes must be idempotent so the retry can apply them again.
+    public void refresh(boolean loaded, Runnable rebuild, Changes changes) {
+        if (!loaded) {
+            // ids marked while the rebuild scans stay dirty and are applied on the next refresh
+            dirty.clear();
+            rebuild.run();
+            return;
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        Set<String> changed = new HashSet<>();
+        Iterator<String> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            changed.add(iterator.next());
+            iterator.remove();
+        }
+        try {
+            List<Product> updated = productRepository.findAllById(changed);
+            Set<String> deleted = new HashSet<>(changed);
+            updated.forEach(product -> deleted.remove(product.getId()));
+            changes.apply(updated, deleted);
+        } catch (RuntimeException e) {
+            dirty.addAll(changed);
+            log.warn("{} :: refresh :: failed, will retry", owner, e);
+        }
+    }
+
+    public interface Changes {
+        void apply(List<Product> updated, Set<String> deleted);
+    }
+}
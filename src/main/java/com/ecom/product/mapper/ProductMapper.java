@@ -1,7 +1,9 @@
 package com.ecom.product.mapper;
 
+import com.ecom.product.dto.ProductCategoryView;
 import com.ecom.product.dto.ProductDto;
 import com.ecom.product.dto.ProductRequest;
+import com.ecom.product.dto.ProductSummaryDto;
 import com.ecom.product.entity.Product;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -11,14 +13,24 @@ import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
+    @Mapping(target = "reviews", ignore = true)
     ProductDto toDto(Product product);
+    @Mapping(target = "categoryId", source = "categoryName")
+    @Mapping(target = "reviews", ignore = true)
+    ProductDto toDto(ProductCategoryView productCategoryView);
     Product toEntity(ProductDto productDto);
     @Mapping(target = "id", ignore = true)
-    @Mapping(target="reviews",ignore = true)
+    @Mapping(target="reviewCount",ignore = true)
+    @Mapping(target="version",ignore = true)
     @Mapping(target="categoryId", source = "category")
     Product toEntityFromRequest(ProductRequest productRequest);
     List<ProductDto> toDtoList(List<Product> products);
     default Page<ProductDto> toDtoPage(Page<Product> products) {
         return products.map(this::toDto);
     }
+    ProductSummaryDto toSummaryDto(Product product);
+    List<ProductSummaryDto> toSummaryDtoList(List<Product> products);
+    default Page<ProductSummaryDto> toSummaryDtoPage(Page<Product> products) {
+        return products.map(this::toSummaryDto);
+    }
 }
@@ -4,10 +4,14 @@ import com.ecom.product.entity.Category;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends MongoRepository<Category,String> {
 
     Optional<Category> findByName(String name);
+
+    List<Category> findByNameIn(Collection<String> names);
 }
@@ -0,0 +1,9 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.entity.MigrationMarker;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MigrationMarkerRepository extends MongoRepository<MigrationMarker, String> {
+}
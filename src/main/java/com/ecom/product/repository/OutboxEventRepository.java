@@ -0,0 +1,17 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String>, OutboxEventRepositoryCustom {
+
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    Optional<OutboxEvent> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,8 @@
+package com.ecom.product.repository;
+
+import java.time.Duration;
+
+public interface OutboxEventRepositoryCustom {
+
+    boolean claimRelayLease(String owner, Duration leaseDuration);
+}
@@ -0,0 +1,40 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.entity.OutboxLease;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Repository
+public class OutboxEventRepositoryImpl implements OutboxEventRepositoryCustom {
+
+    private static final String RELAY_LEASE = "product.events";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // One relay drains the whole outbox at a time, whichever node holds the lease. Taking it over needs
+    // the previous owner's lease to have expired, so pending events never depend on a particular node.
+    @Override
+    public boolean claimRelayLease(String owner, Duration leaseDuration) {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("id").is(RELAY_LEASE)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("claimedUntil").lt(now)));
+        Update update = new Update().set("owner", owner).set("claimedUntil", now.plus(leaseDuration));
+        try {
+            return null != mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), OutboxLease.class);
+        } catch (DuplicateKeyException e) {
+            // the lease document exists and another owner's lease is still running
+            return false;
+        }
+    }
+}
@@ -12,6 +12,6 @@ public interface ProductRepository extends MongoRepository<Product, String>, Pro
     @Query(value = "{'id': ?0}")
     Optional<Product> findProductById(String id);
 
-    @Aggregation(pipeline = {"{'$sort': {'reviews': -1}}","{'$limit': 5}"})
+    @Aggregation(pipeline = {"{'$sort': {'reviewCount': -1}}","{'$limit': 5}"})
     Optional<List<Product>> getFeaturedProducts();
 }
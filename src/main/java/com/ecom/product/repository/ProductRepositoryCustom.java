@@ -1,10 +1,52 @@
 package com.ecom.product.repository;
 
+import com.ecom.product.dto.CountStrategy;
+import com.ecom.product.dto.FacetedPage;
+import com.ecom.product.dto.LegacyReviews;
+import com.ecom.product.dto.ProductCategoryView;
+import com.ecom.product.dto.ProductView;
 import com.ecom.product.entity.Product;
+import com.ecom.product.helper.CursorCodec;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 public interface ProductRepositoryCustom {
 
-    Page<Product> getFilteredProducts(Double min, Double max, Pageable pageable, String category, String searchBy) ;
+    Page<Product> getFilteredProducts(Double min, Double max, Pageable pageable, String category, String searchBy,
+                                      CountStrategy countStrategy, ProductView view) ;
+
+    List<Product> getFilteredProductsAfter(Double min, Double max, String category, String searchBy,
+                                           String sortBy, Boolean ascending, CursorCodec.Cursor after, int limit,
+                                           ProductView view);
+
+    List<Product> findAllSummaries();
+
+    FacetedPage<Product> getFilteredProductsWithFacets(Double min, Double max, Pageable pageable, String category,
+                                                       String searchBy, List<Double> priceBoundaries, ProductView view);
+
+    Stream<Product> streamAllProducts();
+
+    Optional<Product> incrementReviewCount(String productId);
+
+    void releaseReviewPosition(String productId);
+
+    List<String> findLegacyReviewProductIds();
+
+    Optional<LegacyReviews> claimLegacyReviews(String productId);
+
+    Optional<Product> clearLegacyReviews(String productId);
+
+    Map<Integer, String> bulkInsert(List<Product> products);
+
+    Optional<Product> updateProduct(Product product, Long expectedVersion);
+
+    Optional<ProductCategoryView> findProductViewById(String id);
+
+    List<ProductCategoryView> findProductViewsByIds(Collection<String> ids);
 }
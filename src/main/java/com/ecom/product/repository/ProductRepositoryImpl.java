@@ -1,28 +1,360 @@
 package com.ecom.product.repository;
 
+import com.ecom.product.cache.ProductCountCache;
+import com.ecom.product.cache.ProductFacetCache;
+import com.ecom.product.dto.CountStrategy;
+import com.ecom.product.dto.EstimatedPage;
+import com.ecom.product.dto.FacetCount;
+import com.ecom.product.dto.FacetedPage;
+import com.ecom.product.dto.LegacyReviews;
+import com.ecom.product.dto.ProductCategoryView;
+import com.ecom.product.dto.ProductView;
+import com.ecom.product.entity.Category;
 import com.ecom.product.entity.Product;
+import com.ecom.product.helper.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 @Repository
 public class ProductRepositoryImpl implements ProductRepositoryCustom {
 
+    private static final String ID = "id";
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final String LEGACY_REVIEWS_FIELD = "reviews";
+    private static final String LEGACY_CLAIM_FIELD = "legacyReviews";
+    private static final String LEGACY_BASE_FIELD = "legacyReviewBase";
+    static final String[] SUMMARY_FIELDS = {"name", "brand", "price", "imageUrl", "categoryId", "version"};
+
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private ProductCountCache productCountCache;
+
+    @Autowired
+    private ProductFacetCache productFacetCache;
+
+    @Value("${product.count.estimate-cap:1000}")
+    private int estimateCap;
+
     @Override
-    public Page<Product> getFilteredProducts(Double min, Double max, Pageable pageable, String category, String searchBy) {
+    public Page<Product> getFilteredProducts(Double min, Double max, Pageable pageable, String category, String searchBy,
+                                             CountStrategy countStrategy, ProductView view) {
 
         Query query = new Query().with(pageable);
+        if (ProductView.SUMMARY == view) {
+            query.fields().include(SUMMARY_FIELDS);
+        }
+        final List<Criteria> criteriaList = buildCriteria(min, max, category, searchBy);
+
+        if(!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+
+        List<Product> content = mongoTemplate.find(query,Product.class);
+        Query countQuery = query.skip(0).limit(0);
+        AtomicBoolean capped = new AtomicBoolean();
+        Page<Product> page = PageableExecutionUtils.getPage(
+                content,
+                pageable,
+                () -> count(countQuery, countStrategy, capped)
+        );
+        // Only the capped count is a lower bound; the unfiltered estimate and the exact counts are reported as is.
+        return capped.get() ? new EstimatedPage<>(content, pageable, estimateCap, true) : page;
+    }
+
+    private long count(Query query, CountStrategy countStrategy, AtomicBoolean capped) {
+        switch (null == countStrategy ? CountStrategy.EXACT : countStrategy) {
+            case CACHED:
+                return productCountCache.get(query.getQueryObject().toJson(),
+                        key -> mongoTemplate.count(query, Product.class));
+            case ESTIMATED:
+                if (query.getQueryObject().isEmpty()) {
+                    return mongoTemplate.estimatedCount(Product.class);
+                }
+                // Stops counting once the cap is exceeded; a total above the cap reads as "cap+".
+                long count = mongoTemplate.count(query.limit(estimateCap + 1), Product.class);
+                capped.set(count > estimateCap);
+                return count;
+            default:
+                return mongoTemplate.count(query, Product.class);
+        }
+    }
+
+    @Override
+    public List<Product> getFilteredProductsAfter(Double min, Double max, String category, String searchBy,
+                                                  String sortBy, Boolean ascending, CursorCodec.Cursor after, int limit,
+                                                  ProductView view) {
+        Query query = new Query().with(keysetSort(sortBy, ascending)).limit(limit);
+        if (ProductView.SUMMARY == view) {
+            // The sort key is needed to build the next cursor even when it is not part of the summary.
+            query.fields().include(SUMMARY_FIELDS).include(sortBy);
+        }
+        final List<Criteria> criteriaList = buildCriteria(min, max, category, searchBy);
+
+        if (null != after) {
+            criteriaList.add(keysetCriteria(sortBy, ascending, after));
+        }
+
+        if(!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    @Override
+    public FacetedPage<Product> getFilteredProductsWithFacets(Double min, Double max, Pageable pageable, String category,
+                                                              String searchBy, List<Double> priceBoundaries, ProductView view) {
+        final List<Criteria> criteriaList = buildCriteria(min, max, category, searchBy);
+        Criteria criteria = criteriaList.isEmpty()
+                ? new Criteria()
+                : new Criteria().andOperator(criteriaList.toArray(new Criteria[0]));
+        String filterKey = new Query(criteria).getQueryObject().toJson() + "|" + priceBoundaries;
+
+        FacetedPage<?> cached = productFacetCache.getIfPresent(filterKey);
+        if (null != cached) {
+            Query query = new Query(criteria).with(pageable);
+            if (ProductView.SUMMARY == view) {
+                query.fields().include(SUMMARY_FIELDS);
+            }
+            return new FacetedPage<>(mongoTemplate.find(query, Product.class), pageable.getPageNumber(),
+                    pageable.getPageSize(), cached.getTotalElements(), cached.getFacets());
+        }
+
+        List<AggregationOperation> pageOperations = new ArrayList<>();
+        if (pageable.getSort().isSorted()) {
+            pageOperations.add(Aggregation.sort(pageable.getSort()));
+        }
+        pageOperations.add(Aggregation.skip(pageable.getOffset()));
+        pageOperations.add(Aggregation.limit(pageable.getPageSize()));
+        if (ProductView.SUMMARY == view) {
+            pageOperations.add(Aggregation.project(SUMMARY_FIELDS));
+        }
+
+        FacetOperation facets = Aggregation.facet(pageOperations.toArray(new AggregationOperation[0])).as("page")
+                .and(Aggregation.count().as("total")).as("total")
+                .and(Aggregation.group("categoryId").count().as("count")).as("categories")
+                .and(Aggregation.group("brand").count().as("count")).as("brands")
+                .and(Aggregation.bucket("price").withBoundaries(priceBoundaries.toArray())
+                        .withDefaultBucket("other").andOutputCount().as("count")).as("prices");
+
+        Document result = mongoTemplate.aggregate(
+                Aggregation.newAggregation(Product.class, Aggregation.match(criteria), facets),
+                Document.class
+        ).getUniqueMappedResult();
+
+        List<Product> products = result.getList("page", Document.class).stream()
+                .map(document -> mongoTemplate.getConverter().read(Product.class, document))
+                .collect(Collectors.toList());
+        List<Document> totals = result.getList("total", Document.class);
+        long total = totals.isEmpty() ? 0 : totals.get(0).get("total", Number.class).longValue();
+
+        Map<String, List<FacetCount>> facetCounts = new LinkedHashMap<>();
+        facetCounts.put("category", toFacetCounts(result.getList("categories", Document.class), true));
+        facetCounts.put("brand", toFacetCounts(result.getList("brands", Document.class), true));
+        facetCounts.put("price", toFacetCounts(result.getList("prices", Document.class), false));
+
+        productFacetCache.put(filterKey, new FacetedPage<>(Collections.emptyList(), null, null, total, facetCounts));
+        return new FacetedPage<>(products, pageable.getPageNumber(), pageable.getPageSize(), total, facetCounts);
+    }
+
+    private List<FacetCount> toFacetCounts(List<Document> buckets, boolean byCount) {
+        List<FacetCount> counts = buckets.stream()
+                .map(bucket -> new FacetCount(null == bucket.get("_id") ? "" : bucket.get("_id").toString(),
+                        bucket.get("count", Number.class).longValue()))
+                .collect(Collectors.toList());
+        if (byCount) {
+            counts.sort((first, second) -> Long.compare(second.getCount(), first.getCount()));
+        }
+        return Collections.unmodifiableList(counts);
+    }
+
+    @Override
+    public List<Product> findAllSummaries() {
+        Query query = new Query();
+        query.fields().include(SUMMARY_FIELDS);
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    @Override
+    public Stream<Product> streamAllProducts() {
+        return mongoTemplate.stream(new Query().cursorBatchSize(STREAM_BATCH_SIZE), Product.class);
+    }
+
+    @Override
+    public Optional<Product> incrementReviewCount(String productId) {
+        Query query = new Query(Criteria.where(ID).is(productId));
+        Product updated = mongoTemplate.findAndModify(query, new Update().inc("reviewCount", 1).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true), Product.class);
+        return Optional.ofNullable(updated);
+    }
+
+    // Undoes incrementReviewCount when the review could not be stored; the version still moves forward
+    // because the incremented count may already have been read.
+    @Override
+    public void releaseReviewPosition(String productId) {
+        Query query = new Query(Criteria.where(ID).is(productId));
+        mongoTemplate.updateFirst(query, new Update().inc("reviewCount", -1).inc("version", 1), Product.class);
+    }
+
+    // Products still carrying the embedded reviews array from before the bucketed store, or a claim a crash interrupted.
+    @Override
+    public List<String> findLegacyReviewProductIds() {
+        Document filter = new Document("$or", List.of(
+                new Document(LEGACY_REVIEWS_FIELD, new Document("$type", "array")),
+                new Document(LEGACY_CLAIM_FIELD, new Document("$exists", true))));
+        List<String> ids = new ArrayList<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class))
+                .find(filter)
+                .projection(new Document("_id", 1))
+                .forEach(document -> ids.add(document.get("_id").toString()));
+        return ids;
+    }
+
+    // Reserves review positions [reviewCount, reviewCount + n) for the legacy array in the same update that
+    // moves it aside and bumps the version, so concurrent addReview calls take the positions after it.
+    @Override
+    public Optional<LegacyReviews> claimLegacyReviews(String productId) {
+        MongoCollection<Document> products = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class));
+        Object id = ObjectId.isValid(productId) ? new ObjectId(productId) : productId;
+        Document reviewCount = new Document("$ifNull", List.of("$reviewCount", 0));
+        List<Document> claim = List.of(
+                new Document("$set", new Document(LEGACY_BASE_FIELD, reviewCount)
+                        .append(LEGACY_CLAIM_FIELD, "$" + LEGACY_REVIEWS_FIELD)
+                        .append("reviewCount", new Document("$add", List.of(reviewCount,
+                                new Document("$size", "$" + LEGACY_REVIEWS_FIELD))))
+                        .append("version", new Document("$add", List.of(
+                                new Document("$ifNull", List.of("$version", 0L)), 1L)))),
+                new Document("$unset", LEGACY_REVIEWS_FIELD));
+        Document claimed = products.findOneAndUpdate(
+                new Document("_id", id).append(LEGACY_REVIEWS_FIELD, new Document("$type", "array"))
+                        .append(LEGACY_CLAIM_FIELD, new Document("$exists", false)),
+                claim, new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+        if (null == claimed) {
+            claimed = products.find(new Document("_id", id).append(LEGACY_CLAIM_FIELD, new Document("$exists", true)))
+                    .first();
+        }
+        return Optional.ofNullable(claimed).map(document -> new LegacyReviews(productId,
+                document.get(LEGACY_BASE_FIELD, Number.class).intValue(),
+                document.getList(LEGACY_CLAIM_FIELD, Object.class).stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.toList())));
+    }
+
+    @Override
+    public Optional<Product> clearLegacyReviews(String productId) {
+        Query query = new Query(Criteria.where(ID).is(productId));
+        Update update = new Update().unset(LEGACY_CLAIM_FIELD).unset(LEGACY_BASE_FIELD);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Product.class));
+    }
+
+    @Override
+    public Optional<Product> updateProduct(Product product, Long expectedVersion) {
+        Query query = new Query(Criteria.where(ID).is(product.getId()));
+        if (null != expectedVersion) {
+            // Documents written before versioning have no version field and are reported as version 0.
+            query.addCriteria(expectedVersion == 0
+                    ? Criteria.where("version").in(0L, null)
+                    : Criteria.where("version").is(expectedVersion));
+        }
+        Update update = new Update()
+                .set("name", product.getName())
+                .set("brand", product.getBrand())
+                .set("price", product.getPrice())
+                .set("categoryId", product.getCategoryId())
+                .set("quantity", product.getQuantity())
+                .set("imageUrl", product.getImageUrl())
+                .set("features", product.getFeatures())
+                .inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Product.class));
+    }
+
+    // Unordered insert; returns the error message of every document that was rejected, keyed by its position.
+    @Override
+    public Map<Integer, String> bulkInsert(List<Product> products) {
+        Map<Integer, String> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class).insert(products).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public Optional<ProductCategoryView> findProductViewById(String id) {
+        return findProductViews(Criteria.where(ID).is(id)).stream().findFirst();
+    }
+
+    @Override
+    public List<ProductCategoryView> findProductViewsByIds(Collection<String> ids) {
+        return findProductViews(Criteria.where(ID).in(ids));
+    }
+
+    // Joins the category name in the same round trip; categoryId is stored as the hex string of Category._id.
+    private List<ProductCategoryView> findProductViews(Criteria criteria) {
+        AggregationOperation lookupCategory = context -> new Document("$lookup", new Document()
+                .append("from", mongoTemplate.getCollectionName(Category.class))
+                .append("let", new Document("categoryId", "$categoryId"))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr", new Document("$eq", List.of("$_id",
+                                new Document("$convert", new Document("input", "$$categoryId")
+                                        .append("to", "objectId")
+                                        .append("onError", "$$categoryId")
+                                        .append("onNull", "$$categoryId"))))))),
+                        new Document("$project", new Document("name", 1))))
+                .append("as", "category"));
+        AggregationOperation addCategoryName = context -> new Document("$addFields", new Document("categoryName",
+                new Document("$ifNull", List.of(new Document("$arrayElemAt", List.of("$category.name", 0)), ""))));
+        AggregationOperation dropCategory = context -> new Document("$project", new Document("category", 0));
+
+        return mongoTemplate.aggregate(
+                Aggregation.newAggregation(Product.class, Aggregation.match(criteria), lookupCategory,
+                        addCategoryName, dropCategory),
+                ProductCategoryView.class
+        ).getMappedResults();
+    }
+
+    // Public so the startup query plan check explains exactly the shapes the filter endpoints issue.
+    public static List<Criteria> buildCriteria(Double min, Double max, String category, String searchBy) {
         final List<Criteria> criteriaList = new ArrayList<>();
 
         if(null != searchBy && !searchBy.isBlank()) {
@@ -37,14 +369,32 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom {
             criteriaList.add(Criteria.where("categoryId").is(category));
         }
 
-        if(!criteriaList.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        return criteriaList;
+    }
+
+    public static Sort keysetSort(String sortBy, Boolean ascending) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return ID.equals(sortBy) ? Sort.by(direction, ID) : Sort.by(direction, sortBy).and(Sort.by(direction, ID));
+    }
+
+    // Seeks past the last returned (sortKey, _id) pair; missing sort keys order before any value.
+    public static Criteria keysetCriteria(String sortBy, Boolean ascending, CursorCodec.Cursor after) {
+        Criteria afterId = ascending ? Criteria.where(ID).gt(after.getId()) : Criteria.where(ID).lt(after.getId());
+        if (ID.equals(sortBy)) {
+            return afterId;
         }
 
-        return PageableExecutionUtils.getPage(
-                mongoTemplate.find(query,Product.class),
-                pageable,
-                () -> mongoTemplate.count(query.skip(0).limit(0), Product.class)
-        );
+        Object value = after.getSortValue();
+        if (null == value) {
+            Criteria sameKey = new Criteria().andOperator(Criteria.where(sortBy).is(null), afterId);
+            return ascending
+                    ? new Criteria().orOperator(sameKey, Criteria.where(sortBy).ne(null))
+                    : sameKey;
+        }
+
+        Criteria sameKey = new Criteria().andOperator(Criteria.where(sortBy).is(value), afterId);
+        return ascending
+                ? new Criteria().orOperator(Criteria.where(sortBy).gt(value), sameKey)
+                : new Criteria().orOperator(Criteria.where(sortBy).lt(value), sameKey, Criteria.where(sortBy).is(null));
     }
 }
@@ -0,0 +1,88 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.dto.ProductView;
+import com.ecom.product.entity.Category;
+import com.ecom.product.entity.Product;
+import com.ecom.product.entity.ReviewBucket;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.ecom.product.helper.Constants.REVIEW_BUCKET_SIZE;
+import static com.ecom.product.repository.ProductRepositoryImpl.SUMMARY_FIELDS;
+import static com.ecom.product.repository.ProductRepositoryImpl.buildCriteria;
+
+@Repository
+@ConditionalOnProperty(name = "product.read.reactive.enabled", havingValue = "true")
+public class ReactiveProductReader {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveProductReader(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    public Mono<Product> findById(String id) {
+        return reactiveMongoTemplate.findById(id, Product.class);
+    }
+
+    public Mono<String> findCategoryName(String categoryId) {
+        return reactiveMongoTemplate.findById(categoryId, Category.class).map(Category::getName);
+    }
+
+    public Mono<Category> findCategoryByName(String name) {
+        return reactiveMongoTemplate.findOne(new Query(Criteria.where("name").is(name)), Category.class);
+    }
+
+    // Same buckets as ReviewRepositoryImpl.findLatestBuckets for a single product.
+    public Flux<ReviewBucket> findLatestReviewBuckets(String productId, int reviewCount, int latest) {
+        Query query = new Query(Criteria.where("productId").is(productId).and("bucket")
+                .gte(Math.max(reviewCount - latest, 0) / REVIEW_BUCKET_SIZE).lte((reviewCount - 1) / REVIEW_BUCKET_SIZE))
+                .with(Sort.by(Sort.Direction.ASC, "bucket"));
+        return reactiveMongoTemplate.find(query, ReviewBucket.class);
+    }
+
+    public Flux<Product> findAll(ProductView view) {
+        Query query = new Query();
+        if (ProductView.SUMMARY == view) {
+            query.fields().include(SUMMARY_FIELDS);
+        }
+        return reactiveMongoTemplate.find(query, Product.class);
+    }
+
+    // Same criteria as ProductRepositoryImpl.getFilteredProducts; the page and the count run concurrently.
+    public Mono<Page<Product>> getFilteredProducts(Double min, Double max, Pageable pageable, String category,
+                                                   String searchBy, ProductView view) {
+        Query page = filterQuery(min, max, category, searchBy).with(pageable);
+        if (ProductView.SUMMARY == view) {
+            page.fields().include(SUMMARY_FIELDS);
+        }
+        return Mono.zip(reactiveMongoTemplate.find(page, Product.class).collectList(),
+                        reactiveMongoTemplate.count(filterQuery(min, max, category, searchBy), Product.class))
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    private Query filterQuery(Double min, Double max, String category, String searchBy) {
+        List<Criteria> criteriaList = buildCriteria(min, max, category, searchBy);
+        Query query = new Query();
+        if (!criteriaList.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        }
+        return query;
+    }
+
+    public Flux<Product> findFeatured(int limit) {
+        return reactiveMongoTemplate.find(new Query().with(Sort.by(Sort.Direction.DESC, "reviewCount")).limit(limit),
+                Product.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.entity.ReviewBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReviewRepository extends MongoRepository<ReviewBucket, String>, ReviewRepositoryCustom {
+
+    long deleteByProductId(String productId);
+}
@@ -0,0 +1,18 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.dto.Review;
+import com.ecom.product.entity.ReviewBucket;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ReviewRepositoryCustom {
+
+    void appendReview(String productId, int bucket, Review review);
+
+    List<ReviewBucket> findBuckets(String productId, int fromBucket, int toBucket);
+
+    List<ReviewBucket> findLatestBuckets(Map<String, Integer> reviewCounts, int latest);
+
+    boolean insertLegacyReviews(String productId, int bucket, int position, List<Review> reviews);
+}
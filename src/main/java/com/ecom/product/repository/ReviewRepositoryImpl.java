@@ -0,0 +1,76 @@
+package com.ecom.product.repository;
+
+import com.ecom.product.dto.Review;
+import com.ecom.product.entity.ReviewBucket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.ecom.product.helper.Constants.REVIEW_BUCKET_SIZE;
+
+@Repository
+public class ReviewRepositoryImpl implements ReviewRepositoryCustom {
+
+    private static final String LEGACY_MIGRATED = "legacyMigrated";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void appendReview(String productId, int bucket, Review review) {
+        Query query = new Query(Criteria.where("productId").is(productId).and("bucket").is(bucket));
+        mongoTemplate.upsert(query, new Update().push("reviews", review).inc("count", 1), ReviewBucket.class);
+    }
+
+    @Override
+    public List<ReviewBucket> findBuckets(String productId, int fromBucket, int toBucket) {
+        Query query = new Query(Criteria.where("productId").is(productId).and("bucket").gte(fromBucket).lte(toBucket))
+                .with(Sort.by(Sort.Direction.ASC, "bucket"));
+        return mongoTemplate.find(query, ReviewBucket.class);
+    }
+
+    // One query for the buckets holding each product's newest `latest` reviews.
+    @Override
+    public List<ReviewBucket> findLatestBuckets(Map<String, Integer> reviewCounts, int latest) {
+        List<Criteria> perProduct = new ArrayList<>();
+        reviewCounts.forEach((productId, count) -> {
+            if (null != count && count > 0) {
+                perProduct.add(Criteria.where("productId").is(productId).and("bucket")
+                        .gte(Math.max(count - latest, 0) / REVIEW_BUCKET_SIZE).lte((count - 1) / REVIEW_BUCKET_SIZE));
+            }
+        });
+        if (perProduct.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = new Query(new Criteria().orOperator(perProduct.toArray(new Criteria[0])))
+                .with(Sort.by(Sort.Direction.ASC, "bucket"));
+        return mongoTemplate.find(query, ReviewBucket.class);
+    }
+
+    // Places legacy reviews at the bucket offsets their reserved counter slots point to. The marker turns a
+    // re-run for an already written bucket into a duplicate-key no-op instead of a second copy.
+    @Override
+    public boolean insertLegacyReviews(String productId, int bucket, int position, List<Review> reviews) {
+        Query query = new Query(Criteria.where("productId").is(productId).and("bucket").is(bucket)
+                .and(LEGACY_MIGRATED).ne(true));
+        Update update = new Update().push("reviews").atPosition(position).each(reviews.toArray())
+                .inc("count", reviews.size())
+                .set(LEGACY_MIGRATED, true);
+        try {
+            mongoTemplate.upsert(query, update, ReviewBucket.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
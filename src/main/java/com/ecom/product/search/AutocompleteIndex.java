@@ -0,0 +1,250 @@
+package com.ecom.product.search;
+
+import com.ecom.product.cache.CategoryDictionary;
+import com.ecom.product.dto.CategoryChangedEvent;
+import com.ecom.product.dto.ProductChangedEvent;
+import com.ecom.product.dto.Suggestion;
+import com.ecom.product.dto.SuggestionType;
+import com.ecom.product.entity.Product;
+import com.ecom.product.helper.ProductChangeTracker;
+import com.ecom.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class AutocompleteIndex {
+
+    private static final int MAX_KEY_LENGTH = 24;
+
+    private final ProductRepository productRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final int maxSuggestions;
+
+    private final ProductChangeTracker changes;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Indexed state the trie was built from; a refresh turns product and category changes into weight
+    // deltas and re-ranks only the candidates they touch.
+    private final Map<String, IndexedProduct> products = new HashMap<>();
+    private final Map<String, Integer> productsPerCategory = new HashMap<>();
+    private final Map<String, Candidate> candidates = new HashMap<>();
+    private Map<String, String> categories = new HashMap<>();
+    private volatile boolean categoriesChanged = false;
+
+    private volatile CompletionTrie snapshot;
+
+    public AutocompleteIndex(ProductRepository productRepository, CategoryDictionary categoryDictionary,
+                             @Value("${product.autocomplete.max-suggestions:10}") int maxSuggestions) {
+        this.productRepository = productRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.maxSuggestions = maxSuggestions;
+        this.changes = new ProductChangeTracker("AutocompleteIndex", productRepository);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            categoriesChanged = false;
+            products.clear();
+            productsPerCategory.clear();
+            candidates.clear();
+            categories = new HashMap<>(categoryDictionary.getNamesById());
+            Set<Candidate> touched = new HashSet<>();
+            categories.values().forEach(name -> contribute(name, SuggestionType.CATEGORY, 1, touched));
+            try (Stream<Product> stream = productRepository.streamAllProducts()) {
+                stream.forEach(product -> {
+                    IndexedProduct indexed = new IndexedProduct(product);
+                    products.put(product.getId(), indexed);
+                    contribute(indexed, 1, touched);
+                });
+            }
+            snapshot = rank(new CompletionTrie(maxSuggestions), touched);
+            log.info("AutocompleteIndex :: rebuild :: indexed {} suggestions", candidates.size());
+        } catch (RuntimeException e) {
+            log.warn("AutocompleteIndex :: rebuild :: failed, will retry on next refresh", e);
+            snapshot = null;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        changes.markChanged(event.getProductId());
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoriesChanged = true;
+    }
+
+    @Scheduled(fixedDelayString = "${product.autocomplete.refresh-interval-ms:1000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            if (null != snapshot && categoriesChanged) {
+                categoriesChanged = false;
+                snapshot = rank(snapshot, applyCategories());
+            }
+            changes.refresh(null != snapshot, this::rebuild, this::apply);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return null != snapshot;
+    }
+
+    public int getMaxSuggestions() {
+        return maxSuggestions;
+    }
+
+    public List<Suggestion> complete(String query, int limit) {
+        CompletionTrie current = snapshot;
+        String prefix = normalize(query);
+        if (null == current || prefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+        CompletionTrie.Entry[] top =
+                current.complete(prefix.length() > MAX_KEY_LENGTH ? prefix.substring(0, MAX_KEY_LENGTH) : prefix);
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && i < limit; i++) {
+            suggestions.add(top[i].getSuggestion());
+        }
+        return suggestions;
+    }
+
+    private void apply(List<Product> updated, Set<String> deleted) {
+        Set<Candidate> touched = new HashSet<>();
+        for (Product product : updated) {
+            IndexedProduct indexed = new IndexedProduct(product);
+            IndexedProduct previous = products.put(product.getId(), indexed);
+            if (null != previous) {
+                contribute(previous, -1, touched);
+            }
+            contribute(indexed, 1, touched);
+        }
+        for (String id : deleted) {
+            IndexedProduct previous = products.remove(id);
+            if (null != previous) {
+                contribute(previous, -1, touched);
+            }
+        }
+        snapshot = rank(snapshot, touched);
+    }
+
+    // A renamed, added or removed category moves its whole weight, one plus its product count.
+    private Set<Candidate> applyCategories() {
+        Map<String, String> names = new HashMap<>(categoryDictionary.getNamesById());
+        Set<Candidate> touched = new HashSet<>();
+        categories.forEach((id, name) -> {
+            if (!name.equals(names.get(id))) {
+                contribute(name, SuggestionType.CATEGORY, -1 - productsPerCategory.getOrDefault(id, 0), touched);
+            }
+        });
+        names.forEach((id, name) -> {
+            if (!name.equals(categories.get(id))) {
+                contribute(name, SuggestionType.CATEGORY, 1 + productsPerCategory.getOrDefault(id, 0), touched);
+            }
+        });
+        categories = names;
+        return touched;
+    }
+
+    private void contribute(IndexedProduct product, int sign, Set<Candidate> touched) {
+        contribute(product.name, SuggestionType.PRODUCT, sign * (1L + product.reviewCount), touched);
+        contribute(product.brand, SuggestionType.BRAND, sign, touched);
+        if (null != product.categoryId) {
+            productsPerCategory.merge(product.categoryId, sign, (count, delta) -> 0 == count + delta ? null : count + delta);
+            String category = categories.get(product.categoryId);
+            if (null != category) {
+                contribute(category, SuggestionType.CATEGORY, sign, touched);
+            }
+        }
+    }
+
+    // Every word start is a key, so "iph" completes "Apple iPhone 15" as well as "iPhone 15 Case".
+    private CompletionTrie rank(CompletionTrie trie, Set<Candidate> touched) {
+        for (Candidate candidate : touched) {
+            if (null != candidate.entry && candidate.entry.getWeight() == candidate.weight) {
+                continue;
+            }
+            CompletionTrie.Entry updated = candidate.weight > 0
+                    ? new CompletionTrie.Entry(candidate.suggestion, candidate.weight) : null;
+            if (null == updated) {
+                candidates.remove(candidate.id);
+            }
+            int start = 0;
+            while (start >= 0) {
+                String key = candidate.key.substring(start, Math.min(candidate.key.length(), start + MAX_KEY_LENGTH));
+                trie = trie.update(key, candidate.entry, updated);
+                int space = candidate.key.indexOf(' ', start);
+                start = space < 0 ? -1 : space + 1;
+            }
+            candidate.entry = updated;
+        }
+        return trie;
+    }
+
+    private void contribute(String text, SuggestionType type, long weight, Set<Candidate> touched) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Candidate candidate = candidates.computeIfAbsent(type + ":" + key,
+                id -> new Candidate(id, key, new Suggestion(text, type)));
+        candidate.weight += weight;
+        touched.add(candidate);
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", Tokenizer.tokenize(text));
+    }
+
+    private static final class IndexedProduct {
+
+        private final String name;
+        private final String brand;
+        private final String categoryId;
+        private final int reviewCount;
+
+        private IndexedProduct(Product product) {
+            this.name = product.getName();
+            this.brand = product.getBrand();
+            this.categoryId = product.getCategoryId();
+            this.reviewCount = null == product.getReviewCount() ? 0 : product.getReviewCount();
+        }
+    }
+
+    private static final class Candidate {
+
+        private final String id;
+        private final String key;
+        private final Suggestion suggestion;
+        private long weight;
+        private CompletionTrie.Entry entry;
+
+        private Candidate(String id, String key, Suggestion suggestion) {
+            this.id = id;
+            this.key = key;
+            this.suggestion = suggestion;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.ecom.product.search;
+
+import com.ecom.product.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+// Every node keeps its best completions, so a lookup is a walk down the prefix followed by an array
+// copy, independent of how many keys share the prefix. The trie is persistent: an update copies only
+// the nodes on the key's path and refreshes their top lists, while readers keep the root they started with.
+final class CompletionTrie {
+
+    static final Comparator<Entry> RANK = Comparator.comparingLong((Entry entry) -> -entry.weight)
+            .thenComparing(entry -> entry.suggestion.getText())
+            .thenComparing(entry -> entry.suggestion.getType());
+
+    private static final Entry[] NONE = new Entry[0];
+    private static final Node EMPTY = new Node(new char[0], new Node[0], NONE, NONE);
+
+    private final Node root;
+    private final int topSize;
+
+    CompletionTrie(int topSize) {
+        this(EMPTY, topSize);
+    }
+
+    private CompletionTrie(Node root, int topSize) {
+        this.root = root;
+        this.topSize = topSize;
+    }
+
+    Entry[] complete(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && null != node; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return null == node ? NONE : node.top;
+    }
+
+    // Replaces old with updated under key; old is null for an insert and updated is null for a removal.
+    CompletionTrie update(String key, Entry old, Entry updated) {
+        Node updatedRoot = update(root, key, 0, old, updated);
+        return new CompletionTrie(null == updatedRoot ? EMPTY : updatedRoot, topSize);
+    }
+
+    private Node update(Node node, String key, int depth, Entry old, Entry updated) {
+        char[] labels = node.labels;
+        Node[] children = node.children;
+        Entry[] terminals = node.terminals;
+        if (depth == key.length()) {
+            terminals = replace(terminals, old, updated);
+        } else {
+            int index = Arrays.binarySearch(labels, key.charAt(depth));
+            Node child = update(index < 0 ? EMPTY : children[index], key, depth + 1, old, updated);
+            if (index >= 0 && null != child) {
+                children = children.clone();
+                children[index] = child;
+            } else if (index >= 0) {
+                labels = remove(labels, index);
+                children = remove(children, index);
+            } else if (null != child) {
+                labels = insert(labels, -index - 1, key.charAt(depth));
+                children = insert(children, -index - 1, child);
+            }
+        }
+        if (0 == terminals.length && 0 == children.length) {
+            return null;
+        }
+        return new Node(labels, children, terminals, top(children, terminals, node.top, old, updated));
+    }
+
+    // Only a removal from a full list, or a demotion below its last entry, needs the children's lists
+    // again; everything else is a splice into the previous list.
+    private Entry[] top(Node[] children, Entry[] terminals, Entry[] previous, Entry old, Entry updated) {
+        boolean hasOld = indexOf(previous, old) >= 0;
+        boolean hasUpdated = indexOf(previous, updated) >= 0;
+        boolean full = previous.length == topSize;
+        if (!hasOld) {
+            if (null == updated || hasUpdated || (full && RANK.compare(updated, previous[topSize - 1]) > 0)) {
+                return previous;
+            }
+            return insert(previous, updated);
+        }
+        if (!full || (null != updated && !hasUpdated && RANK.compare(updated, previous[previous.length - 1]) <= 0)) {
+            Entry[] without = remove(previous, indexOf(previous, old));
+            return null == updated || hasUpdated ? without : insert(without, updated);
+        }
+        Set<Entry> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidates.addAll(Arrays.asList(terminals));
+        for (Node child : children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        List<Entry> ranked = new ArrayList<>(candidates);
+        ranked.sort(RANK);
+        return ranked.subList(0, Math.min(topSize, ranked.size())).toArray(NONE);
+    }
+
+    private Entry[] insert(Entry[] entries, Entry entry) {
+        int index = Arrays.binarySearch(entries, entry, RANK);
+        int position = index < 0 ? -index - 1 : index;
+        Entry[] inserted = new Entry[Math.min(topSize, entries.length + 1)];
+        System.arraycopy(entries, 0, inserted, 0, position);
+        inserted[position] = entry;
+        System.arraycopy(entries, position, inserted, position + 1, inserted.length - position - 1);
+        return inserted;
+    }
+
+    private static Entry[] replace(Entry[] entries, Entry old, Entry updated) {
+        int index = indexOf(entries, old);
+        Entry[] without = index < 0 ? entries : remove(entries, index);
+        if (null == updated || indexOf(without, updated) >= 0) {
+            return without;
+        }
+        Entry[] added = Arrays.copyOf(without, without.length + 1);
+        added[without.length] = updated;
+        return added;
+    }
+
+    private static int indexOf(Entry[] entries, Entry entry) {
+        if (null != entry) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] == entry) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static Entry[] remove(Entry[] entries, int index) {
+        Entry[] removed = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, removed, 0, index);
+        System.arraycopy(entries, index + 1, removed, index, removed.length - index);
+        return removed;
+    }
+
+    private static char[] remove(char[] labels, int index) {
+        char[] removed = new char[labels.length - 1];
+        System.arraycopy(labels, 0, removed, 0, index);
+        System.arraycopy(labels, index + 1, removed, index, removed.length - index);
+        return removed;
+    }
+
+    private static Node[] remove(Node[] children, int index) {
+        Node[] removed = new Node[children.length - 1];
+        System.arraycopy(children, 0, removed, 0, index);
+        System.arraycopy(children, index + 1, removed, index, removed.length - index);
+        return removed;
+    }
+
+    private static char[] insert(char[] labels, int index, char label) {
+        char[] inserted = new char[labels.length + 1];
+        System.arraycopy(labels, 0, inserted, 0, index);
+        inserted[index] = label;
+        System.arraycopy(labels, index, inserted, index + 1, labels.length - index);
+        return inserted;
+    }
+
+    private static Node[] insert(Node[] children, int index, Node child) {
+        Node[] inserted = new Node[children.length + 1];
+        System.arraycopy(children, 0, inserted, 0, index);
+        inserted[index] = child;
+        System.arraycopy(children, index, inserted, index + 1, children.length - index);
+        return inserted;
+    }
+
+    // Immutable, so a weight change is a new entry replacing the old one by identity.
+    static final class Entry {
+
+        private final Suggestion suggestion;
+        private final long weight;
+
+        Entry(Suggestion suggestion, long weight) {
+            this.suggestion = suggestion;
+            this.weight = weight;
+        }
+
+        Suggestion getSuggestion() {
+            return suggestion;
+        }
+
+        long getWeight() {
+            return weight;
+        }
+    }
+
+    private static final class Node {
+
+        private final char[] labels;
+        private final Node[] children;
+        private final Entry[] terminals;
+        private final Entry[] top;
+
+        private Node(char[] labels, Node[] children, Entry[] terminals, Entry[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.terminals = terminals;
+            this.top = top;
+        }
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+    }
+}
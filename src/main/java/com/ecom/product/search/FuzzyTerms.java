@@ -0,0 +1,83 @@
+package com.ecom.product.search;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+// Terms bucketed by length, each with a 64-bit signature of the characters it contains. A term within
+// k edits of the query is within k of its length, and every edit flips at most two signature bits,
+// so only terms passing both cheap checks reach the edit distance computation.
+final class FuzzyTerms {
+
+    private final String[][] byLength;
+    private final long[][] signatures;
+
+    FuzzyTerms(Collection<String> terms) {
+        int maxLength = 0;
+        for (String term : terms) {
+            maxLength = Math.max(maxLength, term.length());
+        }
+        int[] counts = new int[maxLength + 1];
+        for (String term : terms) {
+            counts[term.length()]++;
+        }
+        byLength = new String[maxLength + 1][];
+        signatures = new long[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            byLength[length] = new String[counts[length]];
+            signatures[length] = new long[counts[length]];
+            counts[length] = 0;
+        }
+        for (String term : terms) {
+            int length = term.length();
+            byLength[length][counts[length]] = term;
+            signatures[length][counts[length]++] = signature(term);
+        }
+    }
+
+    void forEachWithin(String token, int maxEdits, Consumer<String> consumer) {
+        long signature = signature(token);
+        int to = Math.min(byLength.length - 1, token.length() + maxEdits);
+        for (int length = Math.max(1, token.length() - maxEdits); length <= to; length++) {
+            String[] terms = byLength[length];
+            long[] termSignatures = signatures[length];
+            for (int i = 0; i < terms.length; i++) {
+                if (Long.bitCount(termSignatures[i] ^ signature) <= 2 * maxEdits
+                        && withinEditDistance(token, terms[i], maxEdits)) {
+                    consumer.accept(terms[i]);
+                }
+            }
+        }
+    }
+
+    private static long signature(String term) {
+        long signature = 0;
+        for (int i = 0; i < term.length(); i++) {
+            signature |= 1L << (term.charAt(i) & 63);
+        }
+        return signature;
+    }
+
+    private static boolean withinEditDistance(String first, String second, int maxEdits) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()] <= maxEdits;
+    }
+}
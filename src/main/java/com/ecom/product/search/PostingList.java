@@ -0,0 +1,86 @@
+package com.ecom.product.search;
+
+import java.util.Arrays;
+
+// Doc ids are delta encoded and written with the term frequency as varints, so a posting
+// usually takes two or three bytes instead of two ints.
+final class PostingList {
+
+    private final byte[] data;
+    private final int docFrequency;
+
+    private PostingList(byte[] data, int docFrequency) {
+        this.data = data;
+        this.docFrequency = docFrequency;
+    }
+
+    int getDocFrequency() {
+        return docFrequency;
+    }
+
+    int sizeInBytes() {
+        return data.length;
+    }
+
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int doc = 0;
+        while (position < data.length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += delta;
+            consumer.accept(doc, frequency);
+        }
+    }
+
+    interface PostingConsumer {
+        void accept(int doc, int frequency);
+    }
+
+    static final class Builder {
+
+        private byte[] buffer = new byte[8];
+        private int length;
+        private int lastDoc;
+        private int docFrequency;
+
+        void add(int doc, int frequency) {
+            writeVarint(doc - lastDoc);
+            writeVarint(frequency);
+            lastDoc = doc;
+            docFrequency++;
+        }
+
+        boolean isEmpty() {
+            return 0 == docFrequency;
+        }
+
+        PostingList build() {
+            return new PostingList(Arrays.copyOf(buffer, length), docFrequency);
+        }
+
+        private void writeVarint(int value) {
+            if (length + 5 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+    }
+}
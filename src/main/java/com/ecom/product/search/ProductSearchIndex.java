@@ -0,0 +1,425 @@
+package com.ecom.product.search;
+
+import com.ecom.product.dto.Feature;
+import com.ecom.product.dto.ProductChangedEvent;
+import com.ecom.product.entity.Product;
+import com.ecom.product.helper.IntSort;
+import com.ecom.product.helper.ProductChangeTracker;
+import com.ecom.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int FEATURE_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_BOOST = 0.8;
+    private static final double FUZZY_BOOST = 0.6;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private static final Comparator<SearchHit> BY_SCORE =
+            Comparator.comparingDouble(SearchHit::getScore).thenComparing(SearchHit::getProductId, Comparator.reverseOrder());
+
+    private final ProductRepository productRepository;
+    private final ProductChangeTracker changes;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final int mergeThreshold;
+
+    // Products changed since the last merge live in a small delta segment rebuilt on every refresh,
+    // and their docs in the compressed base segment are marked superseded. Only the delta keeps
+    // uncompressed terms, and it is folded into a new base once it reaches the merge threshold.
+    private final Map<String, Map<String, Integer>> pending = new TreeMap<>();
+    private BitSet superseded = new BitSet();
+    private Segment base;
+
+    private volatile Snapshot snapshot;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${product.search.merge-threshold:1000}") int mergeThreshold) {
+        this.productRepository = productRepository;
+        this.changes = new ProductChangeTracker("ProductSearchIndex", productRepository);
+        this.mergeThreshold = mergeThreshold;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            Segment.Builder builder = new Segment.Builder();
+            try (Stream<Product> products = productRepository.streamAllProducts()) {
+                products.forEach(product -> builder.add(product.getId(), terms(product)));
+            }
+            base = builder.build();
+            pending.clear();
+            superseded = new BitSet();
+            snapshot = new Snapshot(base, new BitSet(), Segment.EMPTY);
+            log.info("ProductSearchIndex :: rebuild :: indexed {} products, {} terms, {} posting bytes",
+                    base.ids.length, base.postings.size(), base.postingBytes);
+        } catch (RuntimeException e) {
+            log.warn("ProductSearchIndex :: rebuild :: failed, will retry on next refresh", e);
+            snapshot = null;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        changes.markChanged(event.getProductId());
+    }
+
+    @Scheduled(fixedDelayString = "${product.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            changes.refresh(null != snapshot, this::rebuild, this::apply);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return null != snapshot;
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        Snapshot current = snapshot;
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (null == current || tokens.isEmpty() || 0 == current.liveDocs) {
+            return Collections.emptyList();
+        }
+
+        // Each query token contributes its best matching expansion per document, so a typo
+        // and its prefix completions are never counted twice for the same product.
+        Map<Integer, Double> scores = new HashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<Integer, Double> tokenScores = new HashMap<>();
+            for (Map.Entry<String, Double> expansion : current.expand(tokens.get(i), i == tokens.size() - 1).entrySet()) {
+                current.score(expansion.getKey(), expansion.getValue(), tokenScores);
+            }
+            tokenScores.forEach((doc, score) -> scores.merge(doc, score, Double::sum));
+        }
+
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit + 1, BY_SCORE);
+        scores.forEach((doc, score) -> {
+            heap.offer(new SearchHit(current.id(doc), score));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        });
+        List<SearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            hits.add(heap.poll());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    // Runs on the refresh thread while searches keep reading the previous snapshot, so merges never
+    // sit on the request path.
+    private void apply(List<Product> updated, Set<String> deleted) {
+        for (Product product : updated) {
+            supersede(product.getId());
+            pending.put(product.getId(), terms(product));
+        }
+        for (String id : deleted) {
+            supersede(id);
+            pending.remove(id);
+        }
+
+        Segment delta = Segment.of(pending);
+        if (pending.size() >= mergeThreshold || superseded.cardinality() >= mergeThreshold) {
+            base = Segment.merge(base, superseded, delta);
+            pending.clear();
+            superseded = new BitSet();
+            delta = Segment.EMPTY;
+            log.debug("ProductSearchIndex :: apply :: merged delta, {} products, {} terms, {} posting bytes",
+                    base.ids.length, base.postings.size(), base.postingBytes);
+        }
+        snapshot = new Snapshot(base, (BitSet) superseded.clone(), delta);
+    }
+
+    private void supersede(String productId) {
+        int doc = base.doc(productId);
+        if (doc >= 0) {
+            superseded.set(doc);
+        }
+    }
+
+    private Map<String, Integer> terms(Product product) {
+        Map<String, Integer> terms = new HashMap<>();
+        Tokenizer.tokenize(product.getName()).forEach(token -> terms.merge(token, NAME_WEIGHT, Integer::sum));
+        Tokenizer.tokenize(product.getBrand()).forEach(token -> terms.merge(token, BRAND_WEIGHT, Integer::sum));
+        if (null != product.getFeatures()) {
+            for (Feature feature : product.getFeatures()) {
+                Tokenizer.tokenize(feature.getName()).forEach(token -> terms.merge(token, FEATURE_WEIGHT, Integer::sum));
+                Tokenizer.tokenize(feature.getDescription())
+                        .forEach(token -> terms.merge(token, FEATURE_WEIGHT, Integer::sum));
+            }
+        }
+        return terms;
+    }
+
+    private static final class Segment {
+
+        private static final Segment EMPTY = new Builder().build();
+
+        private final String[] ids;
+        private final float[] lengths;
+        private final int[] byId;
+        private final NavigableMap<String, PostingList> postings;
+        private final FuzzyTerms fuzzyTerms;
+        private final double totalLength;
+        private final long postingBytes;
+
+        private Segment(String[] ids, float[] lengths, int[] byId, NavigableMap<String, PostingList> postings) {
+            this.ids = ids;
+            this.lengths = lengths;
+            this.byId = byId;
+            this.postings = postings;
+            this.fuzzyTerms = new FuzzyTerms(postings.keySet());
+            double total = 0;
+            for (float length : lengths) {
+                total += length;
+            }
+            this.totalLength = total;
+            long bytes = 0;
+            for (PostingList postingList : postings.values()) {
+                bytes += postingList.sizeInBytes();
+            }
+            this.postingBytes = bytes;
+        }
+
+        private static Segment of(Map<String, Map<String, Integer>> terms) {
+            Builder builder = new Builder();
+            terms.forEach(builder::add);
+            return builder.build();
+        }
+
+        // Live base docs keep their relative order and the delta's docs follow them, so every merged
+        // posting list is the filtered base list with the delta list appended, and the id order is a
+        // linear merge of the two.
+        private static Segment merge(Segment base, BitSet superseded, Segment delta) {
+            int[] remap = new int[base.ids.length];
+            int live = 0;
+            for (int doc = 0; doc < base.ids.length; doc++) {
+                remap[doc] = superseded.get(doc) ? -1 : live++;
+            }
+            int offset = live;
+            int size = live + delta.ids.length;
+            String[] ids = new String[size];
+            float[] lengths = new float[size];
+            for (int doc = 0; doc < base.ids.length; doc++) {
+                if (remap[doc] >= 0) {
+                    ids[remap[doc]] = base.ids[doc];
+                    lengths[remap[doc]] = base.lengths[doc];
+                }
+            }
+            System.arraycopy(delta.ids, 0, ids, offset, delta.ids.length);
+            System.arraycopy(delta.lengths, 0, lengths, offset, delta.lengths.length);
+
+            int[] byId = new int[size];
+            int next = 0;
+            int p = 0;
+            int q = 0;
+            while (p < base.byId.length || q < delta.byId.length) {
+                if (p < base.byId.length && remap[base.byId[p]] < 0) {
+                    p++;
+                } else if (q >= delta.byId.length || (p < base.byId.length
+                        && base.ids[base.byId[p]].compareTo(delta.ids[delta.byId[q]]) < 0)) {
+                    byId[next++] = remap[base.byId[p++]];
+                } else {
+                    byId[next++] = offset + delta.byId[q++];
+                }
+            }
+
+            NavigableSet<String> vocabulary = new TreeSet<>(base.postings.keySet());
+            vocabulary.addAll(delta.postings.keySet());
+            NavigableMap<String, PostingList> postings = new TreeMap<>();
+            for (String term : vocabulary) {
+                PostingList.Builder builder = new PostingList.Builder();
+                PostingList basePostings = base.postings.get(term);
+                if (null != basePostings) {
+                    basePostings.forEach((doc, frequency) -> {
+                        if (remap[doc] >= 0) {
+                            builder.add(remap[doc], frequency);
+                        }
+                    });
+                }
+                PostingList deltaPostings = delta.postings.get(term);
+                if (null != deltaPostings) {
+                    deltaPostings.forEach((doc, frequency) -> builder.add(offset + doc, frequency));
+                }
+                if (!builder.isEmpty()) {
+                    postings.put(term, builder.build());
+                }
+            }
+            return new Segment(ids, lengths, byId, postings);
+        }
+
+        private int doc(String id) {
+            int low = 0;
+            int high = byId.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = ids[byId[mid]].compareTo(id);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return byId[mid];
+                }
+            }
+            return -1;
+        }
+
+        private static final class Builder {
+
+            private final List<String> ids = new ArrayList<>();
+            private final Map<String, PostingList.Builder> postings = new HashMap<>();
+            private float[] lengths = new float[16];
+
+            private void add(String id, Map<String, Integer> terms) {
+                int doc = ids.size();
+                ids.add(id);
+                if (doc == lengths.length) {
+                    lengths = Arrays.copyOf(lengths, doc * 2);
+                }
+                for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                    postings.computeIfAbsent(term.getKey(), key -> new PostingList.Builder()).add(doc, term.getValue());
+                    lengths[doc] += term.getValue();
+                }
+            }
+
+            private Segment build() {
+                String[] docIds = ids.toArray(new String[0]);
+                int[] byId = IntStream.range(0, docIds.length).toArray();
+                IntSort.sort(byId, (first, second) -> docIds[first].compareTo(docIds[second]));
+                NavigableMap<String, PostingList> frozen = new TreeMap<>();
+                postings.forEach((term, builder) -> frozen.put(term, builder.build()));
+                return new Segment(docIds, Arrays.copyOf(lengths, docIds.length), byId, frozen);
+            }
+        }
+    }
+
+    // Docs below base.ids.length are base docs, the rest are delta docs shifted past them.
+    private static final class Snapshot {
+
+        private final Segment base;
+        private final BitSet superseded;
+        private final Segment delta;
+        private final int liveDocs;
+        private final double averageLength;
+
+        private Snapshot(Segment base, BitSet superseded, Segment delta) {
+            this.base = base;
+            this.superseded = superseded;
+            this.delta = delta;
+            double totalLength = base.totalLength + delta.totalLength;
+            for (int doc = superseded.nextSetBit(0); doc >= 0; doc = superseded.nextSetBit(doc + 1)) {
+                totalLength -= base.lengths[doc];
+            }
+            this.liveDocs = base.ids.length - superseded.cardinality() + delta.ids.length;
+            this.averageLength = 0 == liveDocs ? 1 : Math.max(1, totalLength / liveDocs);
+        }
+
+        private String id(int doc) {
+            return doc < base.ids.length ? base.ids[doc] : delta.ids[doc - base.ids.length];
+        }
+
+        // Document frequencies still count superseded base docs until the next merge, which only
+        // nudges idf for terms of recently changed products.
+        private void score(String term, double boost, Map<Integer, Double> scores) {
+            PostingList basePostings = base.postings.get(term);
+            PostingList deltaPostings = delta.postings.get(term);
+            int docFrequency = (null == basePostings ? 0 : basePostings.getDocFrequency())
+                    + (null == deltaPostings ? 0 : deltaPostings.getDocFrequency());
+            double idf = Math.log(1 + (Math.max(liveDocs, docFrequency) - docFrequency + 0.5) / (docFrequency + 0.5));
+            if (null != basePostings) {
+                basePostings.forEach((doc, frequency) -> {
+                    if (!superseded.get(doc)) {
+                        score(scores, doc, base.lengths[doc], frequency, boost * idf);
+                    }
+                });
+            }
+            if (null != deltaPostings) {
+                int offset = base.ids.length;
+                deltaPostings.forEach((doc, frequency) ->
+                        score(scores, offset + doc, delta.lengths[doc], frequency, boost * idf));
+            }
+        }
+
+        private void score(Map<Integer, Double> scores, int doc, float length, int frequency, double weight) {
+            double norm = K1 * (1 - B + B * length / averageLength);
+            scores.merge(doc, weight * frequency * (K1 + 1) / (frequency + norm), Math::max);
+        }
+
+        // Exact terms score in full, completions of the last token and terms within one edit
+        // (two for long tokens) score with a penalty. Fuzzy expansion only runs on a miss.
+        private Map<String, Double> expand(String token, boolean prefix) {
+            Map<String, Double> expansions = new HashMap<>();
+            boolean exact = base.postings.containsKey(token) || delta.postings.containsKey(token);
+            if (exact) {
+                expansions.put(token, 1d);
+            }
+            if (prefix && token.length() >= 2) {
+                NavigableSet<String> completions = new TreeSet<>();
+                completions(base.postings, token, completions);
+                completions(delta.postings, token, completions);
+                for (String term : completions) {
+                    if (expansions.size() >= MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    expansions.put(term, PREFIX_BOOST);
+                }
+            }
+            int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+            if (!exact && maxEdits > 0) {
+                Consumer<String> fuzzy = term -> expansions.putIfAbsent(term, FUZZY_BOOST);
+                base.fuzzyTerms.forEachWithin(token, maxEdits, fuzzy);
+                delta.fuzzyTerms.forEachWithin(token, maxEdits, fuzzy);
+            }
+            return expansions;
+        }
+
+        // The first expansions of the union are among the first of each segment, so neither is scanned further.
+        private static void completions(NavigableMap<String, PostingList> postings, String token, Set<String> completions) {
+            int taken = 0;
+            for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                if (taken++ >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                completions.add(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecom.product.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+    private String productId;
+    private double score;
+}
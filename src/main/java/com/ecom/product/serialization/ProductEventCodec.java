@@ -0,0 +1,162 @@
+package com.ecom.product.serialization;
+
+import com.ecom.product.dto.EventType;
+import com.ecom.product.dto.Feature;
+import com.ecom.product.dto.ProductEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Layout: magic, version, eventType ordinal, productId, name, brand, category, features, occurredAt,
+// categoryId, version. Strings and list sizes are varint length + 1 so that 0 encodes null, and so is the version.
+// EventType constants and fields may only be appended, and each append bumps the version (2 added
+// categoryId, 3 added version). A decoder accepts any version from MIN_VERSION up, reads the fields it
+// knows, skips any trailing ones, and leaves a field missing from an older message null. A layout that
+// cannot be read this way needs a new magic byte, not a new version.
+public final class ProductEventCodec {
+
+    static final byte MAGIC = 0x50;
+    static final byte VERSION = 3;
+    private static final byte MIN_VERSION = 1;
+
+    private ProductEventCodec() {
+    }
+
+    public static byte[] encode(ProductEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(null == event.getEventType() ? -1 : event.getEventType().ordinal());
+        writeString(out, event.getProductId());
+        writeString(out, event.getName());
+        writeString(out, event.getBrand());
+        writeString(out, event.getCategory());
+        List<Feature> features = event.getFeatures();
+        writeVarLong(out, null == features ? 0 : features.size() + 1);
+        if (null != features) {
+            for (Feature feature : features) {
+                writeString(out, null == feature ? null : feature.getName());
+                writeString(out, null == feature ? null : feature.getDescription());
+            }
+        }
+        Instant occurredAt = event.getOccurredAt();
+        out.write(null == occurredAt ? 0 : 1);
+        if (null != occurredAt) {
+            writeVarLong(out, zigZag(occurredAt.getEpochSecond()));
+            writeVarLong(out, occurredAt.getNano());
+        }
+        writeString(out, event.getCategoryId());
+        writeVarLong(out, null == event.getVersion() ? 0 : event.getVersion() + 1);
+        return out.toByteArray();
+    }
+
+    public static ProductEvent decode(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        if (in.remaining() < 2 || in.get() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary ProductEvent");
+        }
+        int version = in.get() & 0xFF;
+        if (version < MIN_VERSION) {
+            throw new IllegalArgumentException("Unsupported ProductEvent version " + version);
+        }
+        try {
+            return decodeFields(in);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated ProductEvent", e);
+        }
+    }
+
+    private static ProductEvent decodeFields(ByteBuffer in) {
+        ProductEvent event = new ProductEvent();
+        event.setEventType(eventType(in.get()));
+        event.setProductId(readString(in));
+        event.setName(readString(in));
+        event.setBrand(readString(in));
+        event.setCategory(readString(in));
+        int featureCount = (int) readVarLong(in);
+        if (featureCount > 0) {
+            List<Feature> features = new ArrayList<>(featureCount - 1);
+            for (int i = 1; i < featureCount; i++) {
+                features.add(new Feature(readString(in), readString(in)));
+            }
+            event.setFeatures(features);
+        }
+        if (in.get() == 1) {
+            long seconds = unZigZag(readVarLong(in));
+            event.setOccurredAt(Instant.ofEpochSecond(seconds, readVarLong(in)));
+        }
+        if (in.hasRemaining()) {
+            event.setCategoryId(readString(in));
+        }
+        if (in.hasRemaining()) {
+            long version = readVarLong(in);
+            event.setVersion(version == 0 ? null : version - 1);
+        }
+        return event;
+    }
+
+    private static EventType eventType(byte ordinal) {
+        if (ordinal == -1) {
+            return null;
+        }
+        EventType[] types = EventType.values();
+        if (ordinal < 0 || ordinal >= types.length) {
+            throw new IllegalArgumentException("Unknown ProductEvent type " + (ordinal & 0xFF)
+                    + ", written by a newer producer");
+        }
+        return types[ordinal];
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (null == value) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.position(), length - 1, StandardCharsets.UTF_8);
+        in.position(in.position() + length - 1);
+        return value;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecom.product.serialization;
+
+import com.ecom.product.dto.ProductEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+public class ProductEventDeserializer implements Deserializer<ProductEvent> {
+
+    @Override
+    public ProductEvent deserialize(String topic, byte[] data) {
+        if (null == data) {
+            return null;
+        }
+        try {
+            return ProductEventCodec.decode(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not decode ProductEvent from " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecom.product.serialization;
+
+import com.ecom.product.dto.ProductEvent;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class ProductEventSerializer implements Serializer<ProductEvent> {
+
+    @Override
+    public byte[] serialize(String topic, ProductEvent data) {
+        return null == data ? null : ProductEventCodec.encode(data);
+    }
+}
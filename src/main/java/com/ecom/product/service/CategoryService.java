@@ -2,64 +2,107 @@ package com.ecom.product.service;
 
 import com.ecom.commons.ExceptionHandler.DuplicateResourceFoundException;
 import com.ecom.commons.ExceptionHandler.ResourceNotFoundException;
+import com.ecom.product.cache.CategoryDictionary;
+import com.ecom.product.dto.CategoryChangedEvent;
+import com.ecom.product.dto.EventType;
+import com.ecom.product.dto.ProductEvent;
 import com.ecom.product.entity.Category;
 import com.ecom.product.repository.CategoryRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static com.ecom.product.helper.Constants.CONFLICT;
 import static com.ecom.product.helper.Constants.RESOURCE_NOT_FOUND;
 
 @Service
 @Slf4j
+@Observed(name = "product.service")
 public class CategoryService {
     @Autowired
     private final CategoryRepository categoryRepository;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final CategoryDictionary categoryDictionary;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final ProductEventPublisher eventPublisher;
+
+    public CategoryService(CategoryRepository categoryRepository, CategoryDictionary categoryDictionary,
+                           ApplicationEventPublisher applicationEventPublisher, ProductEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.eventPublisher = eventPublisher;
     }
 
     public void addCategory(Category category) {
-        log.info("Category Service :: addCategory :: start");
+        log.debug("Category Service :: addCategory :: start");
         if (categoryRepository.findByName(category.getName()).isPresent()) {
             throw new DuplicateResourceFoundException("Category with same name already exists",CONFLICT);
         }
-        log.info("Category Service :: addCategory :: end");
-        categoryRepository.save(category);
+        Category saved = eventPublisher.inTransaction(() -> {
+            Category created = categoryRepository.save(category);
+            eventPublisher.publish(toEvent(EventType.CATEGORY_CREATED, created.getId(), created.getName()));
+            return created;
+        });
+        categoryDictionary.put(saved);
+        applicationEventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        log.debug("Category Service :: addCategory :: end");
     }
 
     public List<Category> getCategories() {
-        log.info("Category Service :: getCategories :: start");
+        log.debug("Category Service :: getCategories :: start");
         List<Category> categories = categoryRepository.findAll();
         if(categories.isEmpty()){
             throw new ResourceNotFoundException("No categories found",RESOURCE_NOT_FOUND);
         }
-        log.info("Category Service :: getCategories :: end");
+        log.debug("Category Service :: getCategories :: end");
         return categories;
     }
 
     public String getCategoryIdByName (String name) {
-        log.info("Category Service :: getCategoryIdByName :: start");
-        Optional<Category> category = categoryRepository.findByName(name);
-        log.info("Category Service :: getCategoryIdByName :: end");
-        return category.map(Category::getId).orElse("");
+        log.debug("Category Service :: getCategoryIdByName :: start");
+        String id = categoryDictionary.getIdByName(name);
+        log.debug("Category Service :: getCategoryIdByName :: end");
+        return id;
+    }
+
+    public Map<String, String> getCategoryIdsByNames(Collection<String> names) {
+        log.debug("Category Service :: getCategoryIdsByNames :: start");
+        Map<String, String> ids = categoryDictionary.getIdsByNames(names);
+        log.debug("Category Service :: getCategoryIdsByNames :: end");
+        return ids;
     }
 
     public String getCategoryNameById (String id) {
-        log.info("Category Service :: getCategoryNameById :: start");
-        Optional<Category> category = categoryRepository.findById(id);
-        log.info("Category Service :: getCategoryNameById :: end");
-        return category.map(Category::getName).orElse("");
+        log.debug("Category Service :: getCategoryNameById :: start");
+        String name = categoryDictionary.getNameById(id);
+        log.debug("Category Service :: getCategoryNameById :: end");
+        return name;
     }
 
     public void deleteCategory(String id) {
-        log.info("Category Service :: deleteCategory :: start");
-        categoryRepository.deleteById(id);
-        log.info("Category Service :: deleteCategory :: end");
+        log.debug("Category Service :: deleteCategory :: start");
+        String name = categoryDictionary.getNameById(id);
+        eventPublisher.inTransaction(() -> {
+            categoryRepository.deleteById(id);
+            eventPublisher.publish(toEvent(EventType.CATEGORY_DELETED, id, name));
+            return id;
+        });
+        categoryDictionary.remove(id);
+        applicationEventPublisher.publishEvent(new CategoryChangedEvent(id));
+        log.debug("Category Service :: deleteCategory :: end");
+    }
+
+    private ProductEvent toEvent(EventType type, String id, String name) {
+        return new ProductEvent(type, null, null, null, name, null, Instant.now(), id, null);
     }
 }
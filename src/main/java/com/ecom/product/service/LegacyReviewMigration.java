@@ -0,0 +1,70 @@
+package com.ecom.product.service;
+
+import com.ecom.product.entity.MigrationMarker;
+import com.ecom.product.repository.MigrationMarkerRepository;
+import com.ecom.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+// Runs before the node serves traffic; needs the unique (productId, bucket) index that makes a re-run safe.
+// Writers no longer produce embedded arrays, so once a run leaves nothing behind the marker skips the scan for good.
+@Component
+@Slf4j
+@DependsOn("mongoIndexConfig")
+public class LegacyReviewMigration {
+
+    private static final String MARKER = "legacy-reviews-to-buckets";
+
+    private final ProductRepository productRepository;
+    private final MigrationMarkerRepository migrationMarkerRepository;
+    private final ProductService productService;
+
+    @Value("${product.reviews.migrate-legacy:true}")
+    private boolean enabled;
+
+    public LegacyReviewMigration(ProductRepository productRepository,
+                                 MigrationMarkerRepository migrationMarkerRepository, ProductService productService) {
+        this.productRepository = productRepository;
+        this.migrationMarkerRepository = migrationMarkerRepository;
+        this.productService = productService;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled || migrationMarkerRepository.existsById(MARKER)) {
+            return;
+        }
+        List<String> productIds = productRepository.findLegacyReviewProductIds();
+        if (productIds.isEmpty()) {
+            markCompleted();
+            return;
+        }
+        int reviews = 0;
+        int failures = 0;
+        for (String productId : productIds) {
+            try {
+                reviews += productService.migrateLegacyReviews(productId);
+            } catch (RuntimeException e) {
+                failures++;
+                log.error("LegacyReviewMigration :: migrate :: failed for product {}, will retry on next start",
+                        productId, e);
+            }
+        }
+        log.info("LegacyReviewMigration :: migrate :: moved {} reviews of {} products into buckets, {} failed",
+                reviews, productIds.size() - failures, failures);
+        if (failures == 0) {
+            markCompleted();
+        }
+    }
+
+    private void markCompleted() {
+        migrationMarkerRepository.save(new MigrationMarker(MARKER, Instant.now()));
+        log.info("LegacyReviewMigration :: markCompleted :: legacy reviews migrated, later starts skip the scan");
+    }
+}
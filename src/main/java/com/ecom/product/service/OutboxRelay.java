@@ -0,0 +1,193 @@
+package com.ecom.product.service;
+
+import com.ecom.product.config.NodeIdentity;
+import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.entity.DeadLetterEvent;
+import com.ecom.product.entity.OutboxEvent;
+import com.ecom.product.repository.DeadLetterEventRepository;
+import com.ecom.product.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    // The product version is assigned by the versioned write the row was committed with; category rows have none.
+    private static final Comparator<OutboxEvent> RELAY_ORDER = Comparator
+            .comparing(OutboxEvent::getVersion, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+            .thenComparing(OutboxEvent::getId);
+
+    private final ProductEventPublisher eventPublisher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final DeadLetterEventRepository deadLetterEventRepository;
+    private final String owner;
+    private final Timer relayTimer;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${product.events.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${product.events.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${product.events.outbox.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${product.events.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    public OutboxRelay(ProductEventPublisher eventPublisher, OutboxEventRepository outboxEventRepository,
+                       DeadLetterEventRepository deadLetterEventRepository, MeterRegistry meterRegistry,
+                       NodeIdentity nodeIdentity) {
+        this.eventPublisher = eventPublisher;
+        this.outboxEventRepository = outboxEventRepository;
+        this.deadLetterEventRepository = deadLetterEventRepository;
+        // unique per process, so a restarted pod reusing a hostname does not inherit a lease it never renewed
+        this.owner = nodeIdentity.getNodeId() + "/" + UUID.randomUUID();
+        this.relayTimer = meterRegistry.timer("product.outbox.relay");
+        this.sent = meterRegistry.counter("product.outbox.events", "result", "sent");
+        this.failed = meterRegistry.counter("product.outbox.events", "result", "failed");
+        this.deadLettered = meterRegistry.counter("product.outbox.events", "result", "dead-lettered");
+        meterRegistry.gauge("product.outbox.pending", pending);
+        meterRegistry.gauge("product.outbox.lag.ms", lagMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${product.events.outbox.relay-interval-ms:200}")
+    public void relay() {
+        if (!eventPublisher.isOutboxEnabled()) {
+            return;
+        }
+        try {
+            if (!outboxEventRepository.claimRelayLease(owner, Duration.ofMillis(leaseMs))) {
+                return;
+            }
+            relayTimer.record(this::relayBatch);
+            updateLag();
+        } catch (RuntimeException e) {
+            log.warn("OutboxRelay :: relay :: batch failed, will retry", e);
+        }
+    }
+
+    // Sends in rounds: each round sends the lowest-version pending event of every product concurrently and waits
+    // for the acks, so a product's next event is only sent once the previous one is acknowledged. A failure
+    // stops that product for this batch; after max-attempts the event is dead-lettered and the product moves on.
+    private void relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, List<OutboxEvent>> grouped = new LinkedHashMap<>();
+        for (OutboxEvent outboxEvent : batch) {
+            grouped.computeIfAbsent(outboxEvent.getProductId(), key -> new ArrayList<>()).add(outboxEvent);
+        }
+        Map<String, Deque<OutboxEvent>> byProduct = new LinkedHashMap<>();
+        for (Map.Entry<String, List<OutboxEvent>> entry : grouped.entrySet()) {
+            entry.getValue().sort(RELAY_ORDER);
+            byProduct.put(entry.getKey(), new ArrayDeque<>(entry.getValue()));
+        }
+
+        // stop starting rounds well before the lease runs out, so a new owner never overlaps with this one
+        Instant deadline = Instant.now().plusMillis(leaseMs / 2);
+        while (!byProduct.isEmpty() && Instant.now().isBefore(deadline)) {
+            List<OutboxEvent> round = new ArrayList<>(byProduct.size());
+            List<CompletableFuture<SendResult<String, ProductEvent>>> futures = new ArrayList<>(byProduct.size());
+            for (Deque<OutboxEvent> events : byProduct.values()) {
+                OutboxEvent outboxEvent = events.peekFirst();
+                round.add(outboxEvent);
+                futures.add(eventPublisher.send(outboxEvent.getEvent(), null != outboxEvent.getOriginNode()
+                        ? outboxEvent.getOriginNode() : owner));
+            }
+
+            List<OutboxEvent> delivered = new ArrayList<>();
+            for (int i = 0; i < round.size(); i++) {
+                OutboxEvent outboxEvent = round.get(i);
+                String error = await(futures.get(i));
+                if (null == error) {
+                    delivered.add(outboxEvent);
+                    next(byProduct, outboxEvent);
+                } else if (outboxEvent.getAttempts() + 1 >= maxAttempts) {
+                    deadLetter(outboxEvent, error);
+                    next(byProduct, outboxEvent);
+                } else {
+                    outboxEvent.setAttempts(outboxEvent.getAttempts() + 1);
+                    outboxEvent.setLastError(error);
+                    outboxEventRepository.save(outboxEvent);
+                    failed.increment();
+                    byProduct.remove(outboxEvent.getProductId());
+                }
+            }
+            outboxEventRepository.deleteAll(delivered);
+            sent.increment(delivered.size());
+        }
+    }
+
+    private void next(Map<String, Deque<OutboxEvent>> byProduct, OutboxEvent handled) {
+        Deque<OutboxEvent> events = byProduct.get(handled.getProductId());
+        events.pollFirst();
+        if (events.isEmpty()) {
+            byProduct.remove(handled.getProductId());
+        }
+    }
+
+    private void deadLetter(OutboxEvent outboxEvent, String error) {
+        deadLetterEventRepository.save(new DeadLetterEvent(outboxEvent.getId(), outboxEvent.getProductId(),
+                outboxEvent.getEvent(), outboxEvent.getOriginNode(), outboxEvent.getCreatedAt(),
+                outboxEvent.getAttempts() + 1, error, Instant.now()));
+        outboxEventRepository.delete(outboxEvent);
+        deadLettered.increment();
+        log.error("OutboxRelay :: deadLetter :: giving up on {} for {} after {} attempts: {}",
+                outboxEvent.getEvent().getEventType(), outboxEvent.getProductId(), outboxEvent.getAttempts() + 1, error);
+    }
+
+    // Returns null once the broker acknowledged the send, otherwise the failure.
+    private String await(CompletableFuture<SendResult<String, ProductEvent>> future) {
+        try {
+            future.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        } catch (ExecutionException e) {
+            log.debug("OutboxRelay :: await :: send failed", e);
+            return String.valueOf(e.getCause());
+        } catch (TimeoutException e) {
+            return "no ack within " + sendTimeoutMs + " ms";
+        }
+    }
+
+    // Only the lease holder reports, so the gauges are not computed by every node.
+    private void updateLag() {
+        pending.set(outboxEventRepository.count());
+        lagMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), Instant.now()).toMillis())
+                .orElse(0L));
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecom.product.service;
+
+import com.ecom.product.cache.CategoryDictionary;
+import com.ecom.product.config.NodeIdentity;
+import com.ecom.product.dto.CategoryChangedEvent;
+import com.ecom.product.dto.ProductChangedEvent;
+import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.entity.Category;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class ProductEventConsumer {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final CategoryDictionary categoryDictionary;
+    private final String nodeId;
+    private final Timer invalidationLag;
+    private final Counter applied;
+    private final Counter skipped;
+    private final Counter failed;
+    private final Counter stale;
+    // highest version seen per product, including this node's own writes
+    private final Cache<String, Long> seenVersions;
+    private final AtomicLong lastLagMillis = new AtomicLong();
+
+    public ProductEventConsumer(ApplicationEventPublisher applicationEventPublisher,
+                                CategoryDictionary categoryDictionary, MeterRegistry meterRegistry,
+                                NodeIdentity nodeIdentity,
+                                @Value("${product.events.consumer.seen-versions-size:100000}") long seenVersionsSize) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.categoryDictionary = categoryDictionary;
+        this.nodeId = nodeIdentity.getNodeId();
+        this.invalidationLag = Timer.builder("product.events.invalidation.lag")
+                .tag("node", this.nodeId)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.applied = meterRegistry.counter("product.events.consumed", "result", "applied");
+        this.skipped = meterRegistry.counter("product.events.consumed", "result", "skipped");
+        this.failed = meterRegistry.counter("product.events.consumed", "result", "failed");
+        this.stale = meterRegistry.counter("product.events.consumed", "result", "stale");
+        this.seenVersions = Caffeine.newBuilder()
+                .maximumSize(seenVersionsSize)
+                .build();
+        meterRegistry.gauge("product.events.invalidation.lag.ms", lastLagMillis);
+    }
+
+    // Events written by this node were already applied locally when the write happened, so only
+    // other nodes' writes are replayed here as local change events.
+    @KafkaListener(topics = "${kafka.topic.product-events:product.events}",
+            containerFactory = "productEventListenerContainerFactory",
+            autoStartup = "${product.events.consumer.enabled:true}")
+    public void onEvent(ConsumerRecord<String, ProductEvent> record) {
+        ProductEvent event = record.value();
+        if (null == event || null == event.getEventType()) {
+            failed.increment();
+            log.warn("ProductEventConsumer :: onEvent :: unreadable event at offset {}", record.offset());
+            return;
+        }
+        if (isStale(event)) {
+            stale.increment();
+            log.debug("ProductEventConsumer :: onEvent :: dropped {} for {} at version {}", event.getEventType(),
+                    event.getProductId(), event.getVersion());
+            return;
+        }
+        Header origin = record.headers().lastHeader(ProductEventPublisher.ORIGIN_NODE_HEADER);
+        if (null != origin && nodeId.equals(new String(origin.value(), StandardCharsets.UTF_8))) {
+            skipped.increment();
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case CATEGORY_CREATED:
+                if (null != event.getCategory()) {
+                    categoryDictionary.put(new Category(event.getCategoryId(), event.getCategory()));
+                }
+                applicationEventPublisher.publishEvent(new CategoryChangedEvent(event.getCategoryId()));
+                break;
+            case CATEGORY_DELETED:
+                categoryDictionary.remove(event.getCategoryId());
+                applicationEventPublisher.publishEvent(new CategoryChangedEvent(event.getCategoryId()));
+                break;
+            default:
+                applicationEventPublisher.publishEvent(new ProductChangedEvent(event.getEventType(), event.getProductId()));
+        }
+        applied.increment();
+
+        Instant occurredAt = null != event.getOccurredAt() ? event.getOccurredAt() : Instant.ofEpochMilli(record.timestamp());
+        Duration lag = Duration.between(occurredAt, Instant.now());
+        invalidationLag.record(lag.isNegative() ? Duration.ZERO : lag);
+        lastLagMillis.set(Math.max(0, lag.toMillis()));
+        log.debug("ProductEventConsumer :: onEvent :: applied {} for {} after {} ms", event.getEventType(),
+                record.key(), lag.toMillis());
+    }
+
+    // Events of a product share a partition, so a version at or below one already seen was relayed out of
+    // commit order and would replay an older state over a newer one.
+    private boolean isStale(ProductEvent event) {
+        if (null == event.getVersion() || null == event.getProductId()) {
+            return false;
+        }
+        Long seen = seenVersions.getIfPresent(event.getProductId());
+        if (null != seen && seen >= event.getVersion()) {
+            return true;
+        }
+        seenVersions.put(event.getProductId(), event.getVersion());
+        return false;
+    }
+}
@@ -1,20 +1,108 @@
 package com.ecom.product.service;
 
+import com.ecom.product.config.NodeIdentity;
 import com.ecom.product.dto.ProductEvent;
+import com.ecom.product.entity.OutboxEvent;
+import com.ecom.product.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Component
+@Slf4j
 @RequiredArgsConstructor
 public class ProductEventPublisher {
 
-    private static final String TOPIC = "product.events";
+    public static final String ORIGIN_NODE_HEADER = "origin-node";
+
     private final KafkaTemplate<String, ProductEvent> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<TransactionTemplate> outboxTransactionTemplate;
+    private final NodeIdentity nodeIdentity;
+
+    @Value("${kafka.topic.product-events:product.events}")
+    private String topic;
+
+    @Value("${product.events.outbox.enabled:false}")
+    private boolean outboxEnabled;
+
+    // In outbox mode the write and the outbox rows it publishes commit together, so a crash in between
+    // loses neither; in direct mode the write runs as is and events go to Kafka as they are published.
+    public <T> T inTransaction(Supplier<T> write) {
+        TransactionTemplate transactionTemplate = outboxTransactionTemplate.getIfAvailable();
+        if (!outboxEnabled || null == transactionTemplate) {
+            return write.get();
+        }
+        return transactionTemplate.execute(status -> write.get());
+    }
 
     public void publish(ProductEvent event) {
-        kafkaTemplate.send(TOPIC, event.getProductId(), event);
+        if (outboxEnabled) {
+            outboxEventRepository.save(toOutboxEvent(event));
+            return;
+        }
+        send(event).whenComplete((result, ex) -> {
+            if (null != ex) {
+                log.error("ProductEventPublisher :: publish :: failed to send {} for {}",
+                        event.getEventType(), key(event), ex);
+            }
+        });
+    }
+
+    public void publishAll(List<ProductEvent> events) {
+        if (outboxEnabled) {
+            outboxEventRepository.saveAll(events.stream()
+                    .map(this::toOutboxEvent)
+                    .collect(Collectors.toList()));
+            return;
+        }
+        events.forEach(this::publish);
     }
 
+    // The origin header lets this service's own consumers skip events they already applied locally.
+    CompletableFuture<SendResult<String, ProductEvent>> send(ProductEvent event) {
+        return send(event, nodeIdentity.getNodeId());
+    }
+
+    CompletableFuture<SendResult<String, ProductEvent>> send(ProductEvent event, String originNode) {
+        ProducerRecord<String, ProductEvent> record = new ProducerRecord<>(topic, key(event), event);
+        record.headers().add(ORIGIN_NODE_HEADER, originNode.getBytes(StandardCharsets.UTF_8));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return kafkaTemplate.send(record).whenComplete((result, ex) -> {
+            sample.stop(meterRegistry.timer("product.kafka.send", "type", String.valueOf(event.getEventType()),
+                    "result", null == ex ? "success" : "failure"));
+            if (null != ex) {
+                meterRegistry.counter("product.kafka.send.errors", "exception", ex.getClass().getSimpleName()).increment();
+            }
+        });
+    }
+
+    private OutboxEvent toOutboxEvent(ProductEvent event) {
+        return new OutboxEvent(null, key(event), event, event.getVersion(), nodeIdentity.getNodeId(), Instant.now(), 0, null);
+    }
+
+    // Category events carry no product, so they are keyed (and ordered) by category instead.
+    private String key(ProductEvent event) {
+        return null != event.getProductId() ? event.getProductId() : event.getCategoryId();
+    }
 
+    public boolean isOutboxEnabled() {
+        return outboxEnabled;
+    }
 }
@@ -1,31 +1,73 @@
 package com.ecom.product.service;
 
 import com.ecom.commons.ExceptionHandler.ResourceNotFoundException;
+import com.ecom.product.cache.ProductCache;
+import com.ecom.product.catalog.ColumnarCatalog;
 import com.ecom.product.dto.*;
 import com.ecom.product.entity.Product;
+import com.ecom.product.entity.ReviewBucket;
+import com.ecom.product.featured.FeaturedProductsRanking;
+import com.ecom.product.helper.CursorCodec;
 import com.ecom.product.mapper.ProductMapper;
 import com.ecom.product.repository.ProductRepository;
+import com.ecom.product.repository.ReviewRepository;
+import com.ecom.product.search.AutocompleteIndex;
+import com.ecom.product.search.ProductSearchIndex;
+import com.ecom.product.search.SearchHit;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.ecom.product.helper.Constants.RESOURCE_NOT_FOUND;
+import static com.ecom.product.helper.Constants.REVIEW_BUCKET_SIZE;
 
 @Service
 @Slf4j
+@Observed(name = "product.service")
 public class ProductService {
+    // Scalar fields only; the cursor encodes a single comparable value per row
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "name", "brand", "price", "categoryId", "quantity", "reviewCount");
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ReviewRepository reviewRepository;
+
     @Autowired
     private CategoryService categoryService;
 
@@ -35,35 +77,233 @@ public class ProductService {
     @Autowired
     private ProductEventPublisher eventPublisher;
 
-    public List<ProductDto> getAllProducts() {
-        log.info("ProductService :: getAllProducts :: start");
-        List<Product> products = productRepository.findAll();
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FeaturedProductsRanking featuredProductsRanking;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private ColumnarCatalog columnarCatalog;
+
+    @Value("${product.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${product.batch.max-ids:100}")
+    private int batchMaxIds;
+
+    @Value("#{'${product.read.category-join:dictionary}' == 'lookup'}")
+    private boolean lookupCategoryJoin;
+
+    @Value("${product.search.max-results:50}")
+    private int searchMaxResults;
+
+    @Value("${product.reviews.embedded-latest:10}")
+    private int embeddedReviews;
+
+    @Value("${product.facets.price-buckets:0,500,1000,5000,10000,50000}")
+    private List<Double> defaultPriceBuckets;
+
+    public List<? extends Versioned> getAllProducts(ProductView view) {
+        log.debug("ProductService :: getAllProducts :: start");
+        List<Product> products = ProductView.SUMMARY == view
+                ? productRepository.findAllSummaries()
+                : productRepository.findAll();
         if (products.isEmpty()) {
             throw new ResourceNotFoundException("No products in the inventory", RESOURCE_NOT_FOUND);
         }
-        List<ProductDto> productDtos = productMapper.toDtoList(products);
-        log.info("ProductService :: getAllProducts :: end");
+        List<? extends Versioned> productDtos = ProductView.SUMMARY == view
+                ? productMapper.toSummaryDtoList(products)
+                : productMapper.toDtoList(products);
+        log.debug("ProductService :: getAllProducts :: end");
         return productDtos;
     }
 
+    public void streamAllProducts(OutputStream outputStream) throws IOException {
+        log.debug("ProductService :: streamAllProducts :: start");
+        ObjectWriter writer = objectMapper.writerFor(ProductDto.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (Stream<Product> products = productRepository.streamAllProducts()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(outputStream, productMapper.toDto(iterator.next()));
+                outputStream.write('\n');
+            }
+        }
+        outputStream.flush();
+        log.debug("ProductService :: streamAllProducts :: end");
+    }
+
     public void addProduct(ProductRequest product) {
-        log.info("ProductService :: addProduct :: start");
+        log.debug("ProductService :: addProduct :: start");
         String categoryId = categoryService.getCategoryIdByName(product.getCategory());
         if (!categoryId.isBlank()) {
             Product productEntity = productMapper.toEntityFromRequest(product);
             productEntity.setCategoryId(categoryId);
-            Product saved = productRepository.save(productEntity);
-            eventPublisher.publish(toEvent(saved, EventType.PRODUCT_CREATED));
+            Product saved = eventPublisher.inTransaction(() -> {
+                Product created = productRepository.save(productEntity);
+                eventPublisher.publish(toEvent(created, EventType.PRODUCT_CREATED));
+                return created;
+            });
+            applicationEventPublisher.publishEvent(new ProductChangedEvent(EventType.PRODUCT_CREATED, saved.getId()));
         } else {
             throw new ResourceNotFoundException("Product Category does not exist", RESOURCE_NOT_FOUND);
         }
-        log.info("ProductService :: addProduct :: end");
+        log.debug("ProductService :: addProduct :: end");
+    }
+
+    public BulkImportResponse importProducts(Iterator<ProductRequest> requests) {
+        log.debug("ProductService :: importProducts :: start");
+        List<BulkImportResult> results = new ArrayList<>();
+        List<ProductRequest> chunk = new ArrayList<>(bulkChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(bulkChunkSize);
+        int index = 0;
+        while (true) {
+            ProductRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                results.add(new BulkImportResult(index, null, false, "Malformed product: " + e.getMessage()));
+                break;
+            }
+
+            String error = validateForImport(request);
+            if (null != error) {
+                results.add(new BulkImportResult(index++, null, false, error));
+                continue;
+            }
+            chunk.add(request);
+            chunkIndexes.add(index++);
+
+            if (chunk.size() >= bulkChunkSize) {
+                importChunk(chunk, chunkIndexes, results);
+            }
+        }
+        importChunk(chunk, chunkIndexes, results);
+
+        results.sort((first, second) -> Integer.compare(first.getIndex(), second.getIndex()));
+        int imported = (int) results.stream().filter(BulkImportResult::getSuccess).count();
+        log.debug("ProductService :: importProducts :: end");
+        return new BulkImportResponse(results.size(), imported, results.size() - imported, results);
     }
 
-    public Page<ProductDto> getFilteredProducts(Double min, Double max, Integer pageNumber,
-                                                Integer pageSize, String sortBy, Boolean ascending,
-                                                String category, String serachBy) {
-        log.info("ProductService :: getFilteredProducts :: start");
+    private String validateForImport(ProductRequest request) {
+        if (null == request) {
+            return "Product is empty";
+        }
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    // Resolves the chunk's distinct category names in one dictionary pass (one query for the misses),
+    // then inserts the rows whose category exists.
+    private void importChunk(List<ProductRequest> requests, List<Integer> requestIndexes, List<BulkImportResult> results) {
+        Map<String, String> categoryIds = categoryService.getCategoryIdsByNames(requests.stream()
+                .map(ProductRequest::getCategory)
+                .collect(Collectors.toSet()));
+        List<Product> chunk = new ArrayList<>(requests.size());
+        List<Integer> chunkIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String categoryId = categoryIds.get(requests.get(i).getCategory());
+            if (null == categoryId) {
+                results.add(new BulkImportResult(requestIndexes.get(i), null, false, "Product Category does not exist"));
+                continue;
+            }
+            Product productEntity = productMapper.toEntityFromRequest(requests.get(i));
+            productEntity.setId(new ObjectId().toHexString());
+            productEntity.setCategoryId(categoryId);
+            chunk.add(productEntity);
+            chunkIndexes.add(requestIndexes.get(i));
+        }
+        requests.clear();
+        requestIndexes.clear();
+        insertChunk(chunk, chunkIndexes, results);
+    }
+
+    private void insertChunk(List<Product> chunk, List<Integer> chunkIndexes, List<BulkImportResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> errors;
+        try {
+            errors = eventPublisher.inTransaction(() -> insertAndPublish(chunk));
+        } catch (BulkInsertRejectedException e) {
+            // a rejected document aborts the chunk's transaction; insert one by one to keep the others
+            errors = new HashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    insertOne(chunk.get(i));
+                } catch (RuntimeException insertError) {
+                    errors.put(i, insertError.getMessage());
+                }
+            }
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Product product = chunk.get(i);
+            if (errors.containsKey(i)) {
+                results.add(new BulkImportResult(chunkIndexes.get(i), null, false, errors.get(i)));
+            } else {
+                results.add(new BulkImportResult(chunkIndexes.get(i), product.getId(), true, null));
+                applicationEventPublisher.publishEvent(new ProductChangedEvent(EventType.PRODUCT_CREATED, product.getId()));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private Map<Integer, String> insertAndPublish(List<Product> chunk) {
+        Map<Integer, String> errors = productRepository.bulkInsert(chunk);
+        if (!errors.isEmpty() && eventPublisher.isOutboxEnabled()) {
+            throw new BulkInsertRejectedException();
+        }
+        List<ProductEvent> events = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!errors.containsKey(i)) {
+                events.add(toEvent(chunk.get(i), EventType.PRODUCT_CREATED));
+            }
+        }
+        eventPublisher.publishAll(events);
+        return errors;
+    }
+
+    private void insertOne(Product product) {
+        eventPublisher.inTransaction(() -> {
+            Product created = productRepository.insert(product);
+            eventPublisher.publish(toEvent(created, EventType.PRODUCT_CREATED));
+            return created;
+        });
+    }
+
+    private static class BulkInsertRejectedException extends RuntimeException {
+    }
+
+    public Page<? extends Versioned> getFilteredProducts(Double min, Double max, Integer pageNumber,
+                                       Integer pageSize, String sortBy, Boolean ascending,
+                                       String category, String serachBy, CountStrategy countStrategy,
+                                       ProductView view) {
+        log.debug("ProductService :: getFilteredProducts :: start");
         Pageable pageable;
         if (null != sortBy && !sortBy.isBlank()) {
             pageable = PageRequest.of(pageNumber, pageSize, ascending ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
@@ -73,10 +313,16 @@ public class ProductService {
 
         String categoryId = categoryService.getCategoryIdByName(category);
 
-        Page<Product> products = productRepository.getFilteredProducts(min, max, pageable, categoryId, serachBy);
-        Page<ProductDto> productDtos = productMapper.toDtoPage(products);
+        Optional<Page<String>> replicaPage = columnarCatalog.filter(min, max, categoryId, serachBy, pageable);
+        Page<Product> products = replicaPage.isPresent()
+                ? new PageImpl<>(findAllInOrder(replicaPage.get().getContent()), pageable,
+                        replicaPage.get().getTotalElements())
+                : productRepository.getFilteredProducts(min, max, pageable, categoryId, serachBy, countStrategy, view);
+        Page<? extends Versioned> productDtos = ProductView.SUMMARY == view
+                ? productMapper.toSummaryDtoPage(products)
+                : productMapper.toDtoPage(products);
         if (!products.isEmpty()) {
-            log.info("ProductService :: getFilteredProducts :: end");
+            log.debug("ProductService :: getFilteredProducts :: end");
             return productDtos;
         } else {
             throw new ResourceNotFoundException("No products found with specified filters", RESOURCE_NOT_FOUND);
@@ -84,75 +330,390 @@ public class ProductService {
 
     }
 
+    public FacetedPage<? extends Versioned> getFilteredProductsWithFacets(Double min, Double max, Integer pageNumber,
+                                                                      Integer pageSize, String sortBy, Boolean ascending,
+                                                                      String category, String searchBy,
+                                                                      List<Double> priceBuckets, ProductView view) {
+        log.debug("ProductService :: getFilteredProductsWithFacets :: start");
+        List<Double> boundaries = (null == priceBuckets || priceBuckets.isEmpty()) ? defaultPriceBuckets : priceBuckets;
+        if (boundaries.size() < 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least two price bucket boundaries are required");
+        }
+        for (int i = 1; i < boundaries.size(); i++) {
+            if (null == boundaries.get(i - 1) || null == boundaries.get(i) || boundaries.get(i - 1) >= boundaries.get(i)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Price bucket boundaries must be strictly ascending");
+            }
+        }
+        Pageable pageable;
+        if (null != sortBy && !sortBy.isBlank()) {
+            pageable = PageRequest.of(pageNumber, pageSize, ascending ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+        } else {
+            pageable = PageRequest.of(pageNumber, pageSize);
+        }
+
+        String categoryId = categoryService.getCategoryIdByName(category);
+
+        FacetedPage<Product> products = productRepository.getFilteredProductsWithFacets(min, max, pageable, categoryId,
+                searchBy, boundaries, view);
+        if (0 == products.getTotalElements()) {
+            throw new ResourceNotFoundException("No products found with specified filters", RESOURCE_NOT_FOUND);
+        }
+        List<? extends Versioned> content = ProductView.SUMMARY == view
+                ? productMapper.toSummaryDtoList(products.getContent())
+                : productMapper.toDtoList(products.getContent());
+
+        // Facet counts may be shared with the facet cache, so category names go into a copy.
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>(products.getFacets());
+        facets.put("category", products.getFacets().get("category").stream()
+                .map(facet -> {
+                    String name = categoryService.getCategoryNameById(facet.getValue());
+                    return new FacetCount(name.isEmpty() ? facet.getValue() : name, facet.getCount());
+                })
+                .collect(Collectors.toList()));
+        log.debug("ProductService :: getFilteredProductsWithFacets :: end");
+        return new FacetedPage<>(content, products.getPageNumber(), products.getPageSize(),
+                products.getTotalElements(), facets);
+    }
+
+    public CursorPage<? extends Versioned> getFilteredProductsByCursor(Double min, Double max, Integer pageSize, String sortBy,
+                                                     Boolean ascending, String category, String searchBy,
+                                                     String cursor, ProductView view) {
+        log.debug("ProductService :: getFilteredProductsByCursor :: start");
+        String sortKey = (null != sortBy && !sortBy.isBlank()) ? sortBy : "id";
+        if (!CURSOR_SORT_FIELDS.contains(sortKey)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor pagination is not supported for " + sortKey);
+        }
+        if (null == pageSize || pageSize < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pageSize must be at least 1");
+        }
+        CursorCodec.Cursor after = (null != cursor && !cursor.isBlank()) ? CursorCodec.decode(cursor, sortKey) : null;
+
+        String categoryId = categoryService.getCategoryIdByName(category);
+
+        List<Product> products = productRepository.getFilteredProductsAfter(min, max, categoryId, searchBy,
+                sortKey, ascending, after, pageSize + 1, view);
+        boolean hasNext = products.size() > pageSize;
+        List<Product> page = hasNext ? products.subList(0, pageSize) : products;
+        if (page.isEmpty() && null == after) {
+            throw new ResourceNotFoundException("No products found with specified filters", RESOURCE_NOT_FOUND);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = page.get(page.size() - 1);
+            Object sortValue = new BeanWrapperImpl(last).getPropertyValue(sortKey);
+            nextCursor = CursorCodec.encode(sortKey, sortValue, last.getId());
+        }
+        log.debug("ProductService :: getFilteredProductsByCursor :: end");
+        List<? extends Versioned> content = ProductView.SUMMARY == view
+                ? productMapper.toSummaryDtoList(page)
+                : productMapper.toDtoList(page);
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+
     public void deleteProduct(String id) {
-        log.info("ProductService :: deleteProduct :: start");
-        if (productRepository.findProductById(id).isPresent()) {
-            productRepository.deleteById(id);
-            log.info("ProductService :: deleteProduct :: end");
+        log.debug("ProductService :: deleteProduct :: start");
+        Optional<Product> product = productRepository.findProductById(id);
+        if (product.isPresent()) {
+            eventPublisher.inTransaction(() -> {
+                productRepository.deleteById(id);
+                reviewRepository.deleteByProductId(id);
+                eventPublisher.publish(toEvent(product.get(), EventType.PRODUCT_DELETED));
+                return id;
+            });
+            applicationEventPublisher.publishEvent(new ProductChangedEvent(EventType.PRODUCT_DELETED, id));
+            log.debug("ProductService :: deleteProduct :: end");
         } else {
             throw new ResourceNotFoundException("No product found", RESOURCE_NOT_FOUND);
         }
     }
 
     public ProductDto getProductById(String productId) {
-        log.info("ProductService :: getProductById :: start");
-        Optional<Product> product = productRepository.findProductById(productId);
-        if (product.isPresent()) {
-            product.get().setCategoryId(categoryService.getCategoryNameById(product.get().getCategoryId()));
-            ProductDto productDto = productMapper.toDto(product.get());
-            log.info("ProductService :: getProductById :: end");
-            return productDto;
-        } else {
-            throw new ResourceNotFoundException("No product found with specified id", RESOURCE_NOT_FOUND);
+        log.debug("ProductService :: getProductById :: start");
+        ProductDto productDto = productCache.get(productId, this::loadProductDto)
+                .orElseThrow(() -> new ResourceNotFoundException("No product found with specified id", RESOURCE_NOT_FOUND));
+        log.debug("ProductService :: getProductById :: end");
+        return productDto;
+    }
+
+    private ProductDto loadProductDto(String productId) {
+        ProductDto productDto = lookupCategoryJoin
+                ? productRepository.findProductViewById(productId).map(productMapper::toDto).orElse(null)
+                : productRepository.findProductById(productId).map(this::toDetailDto).orElse(null);
+        if (null != productDto) {
+            withLatestReviews(List.of(productDto));
         }
+        return productDto;
     }
 
-    public void addReview(String productId, ReviewRequest reviewRequest) {
-        log.info("ProductService :: addReview :: start");
-        Optional<Product> product = productRepository.findProductById(productId);
-        if (product.isPresent()) {
-            if (product.get().getReviews() == null) {
-                product.get().setReviews(new ArrayList<String>());
+    private void withLatestReviews(List<ProductDto> products) {
+        if (embeddedReviews <= 0 || products.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> reviewCounts = new HashMap<>();
+        products.forEach(productDto -> reviewCounts.put(productDto.getId(), reviewCountOf(productDto)));
+        Map<String, List<ReviewBucket>> buckets = reviewRepository.findLatestBuckets(reviewCounts, embeddedReviews)
+                .stream()
+                .collect(Collectors.groupingBy(ReviewBucket::getProductId));
+        for (ProductDto productDto : products) {
+            int to = reviewCountOf(productDto);
+            productDto.setReviews(newestFirst(buckets.getOrDefault(productDto.getId(), Collections.emptyList()),
+                    Math.max(to - embeddedReviews, 0), to).stream()
+                    .map(Review::getReview)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private int reviewCountOf(ProductDto productDto) {
+        return null == productDto.getReviewCount() ? 0 : productDto.getReviewCount();
+    }
+
+    private List<Product> findAllInOrder(List<String> ids) {
+        Map<String, Product> found = new HashMap<>();
+        productRepository.findAllById(ids).forEach(product -> found.put(product.getId(), product));
+        return ids.stream()
+                .map(found::get)
+                .filter(product -> null != product)
+                .collect(Collectors.toList());
+    }
+
+    private ProductDto toDetailDto(Product product) {
+        product.setCategoryId(categoryService.getCategoryNameById(product.getCategoryId()));
+        return productMapper.toDto(product);
+    }
+
+    public ProductBatchResponse getProductsByIds(List<String> ids) {
+        log.debug("ProductService :: getProductsByIds :: start");
+        if (ids.stream().anyMatch(id -> null == id || id.isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Product ids must not be null or blank");
+        }
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > batchMaxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + batchMaxIds + " ids can be requested");
+        }
+
+        Map<String, ProductDto> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : distinctIds) {
+            ProductDto cached = productCache.getIfPresent(id);
+            if (null != cached) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        long invalidationMark = productCache.invalidationMark();
+        List<ProductDto> loaded = new ArrayList<>();
+        if (!misses.isEmpty() && lookupCategoryJoin) {
+            for (ProductCategoryView productCategoryView : productRepository.findProductViewsByIds(misses)) {
+                loaded.add(productMapper.toDto(productCategoryView));
             }
+        } else if (!misses.isEmpty()) {
+            for (Product product : productRepository.findAllById(misses)) {
+                loaded.add(toDetailDto(product));
+            }
+        }
+        withLatestReviews(loaded);
+        for (ProductDto productDto : loaded) {
+            productCache.putIfNotInvalidated(productDto.getId(), productDto, invalidationMark);
+            found.put(productDto.getId(), productDto);
+        }
 
-            product.get().getReviews().add(reviewRequest.getReview());
+        List<ProductDto> products = new ArrayList<>(found.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : distinctIds) {
+            ProductDto productDto = found.get(id);
+            if (null != productDto) {
+                products.add(productDto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.debug("ProductService :: getProductsByIds :: end");
+        return new ProductBatchResponse(products, missingIds);
+    }
 
-            productRepository.save(product.get());
-            log.info("ProductService :: addReview :: end");
+    public List<? extends Versioned> searchProducts(String query, Integer limit, ProductView view) {
+        log.debug("ProductService :: searchProducts :: start");
+        if (!productSearchIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is not ready");
+        }
+        if (limit < 1 || limit > searchMaxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + searchMaxResults);
+        }
+        List<SearchHit> hits = productSearchIndex.search(query, limit);
+        if (hits.isEmpty()) {
+            throw new ResourceNotFoundException("No products found matching " + query, RESOURCE_NOT_FOUND);
+        }
+
+        List<Product> products = findAllInOrder(hits.stream().map(SearchHit::getProductId).collect(Collectors.toList()));
+        log.debug("ProductService :: searchProducts :: end");
+        return ProductView.SUMMARY == view
+                ? productMapper.toSummaryDtoList(products)
+                : productMapper.toDtoList(products);
+    }
+
+    public List<Suggestion> autocomplete(String query, Integer limit) {
+        if (!autocompleteIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Autocomplete index is not ready");
+        }
+        if (limit < 1 || limit > autocompleteIndex.getMaxSuggestions()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + autocompleteIndex.getMaxSuggestions());
+        }
+        return autocompleteIndex.complete(query, limit);
+    }
+
+    public void addReview(String productId, ReviewRequest reviewRequest) {
+        log.debug("ProductService :: addReview :: start");
+        // The review bumps the product version, so peers get an update event to drop their cached copy and ETag.
+        Optional<Product> reviewed = eventPublisher.inTransaction(() -> {
+            Optional<Product> updated = productRepository.incrementReviewCount(productId);
+            updated.ifPresent(product -> {
+                int bucket = (product.getReviewCount() - 1) / REVIEW_BUCKET_SIZE;
+                appendReview(productId, bucket, new Review(reviewRequest.getReview(), Instant.now()));
+                eventPublisher.publish(toEvent(product, EventType.PRODUCT_UPDATED));
+            });
+            return updated;
+        });
+        if (reviewed.isPresent()) {
+            applicationEventPublisher.publishEvent(new ProductChangedEvent(EventType.PRODUCT_UPDATED, productId));
+            log.debug("ProductService :: addReview :: end");
         } else {
             throw new ResourceNotFoundException("Product not found", RESOURCE_NOT_FOUND);
         }
     }
 
-    public List<ProductDto> getFeaturedProducts() {
-        log.info("ProductService :: getFeaturedProducts :: start");
-        Optional<List<Product>> products = productRepository.getFeaturedProducts();
-        if (products.isPresent()) {
-            log.info("ProductService :: getFeaturedProducts :: end");
-            return productMapper.toDtoList(products.get());
-        } else {
+    // Without the outbox transaction the count was already committed, so a failed append gives the position
+    // back instead of leaving reviewCount one ahead of the stored reviews.
+    private void appendReview(String productId, int bucket, Review review) {
+        try {
+            reviewRepository.appendReview(productId, bucket, review);
+        } catch (RuntimeException e) {
+            try {
+                productRepository.releaseReviewPosition(productId);
+            } catch (RuntimeException compensation) {
+                e.addSuppressed(compensation);
+                log.error("ProductService :: appendReview :: could not release review position of {}", productId, compensation);
+            }
+            throw e;
+        }
+    }
+
+    public Page<Review> getReviews(String productId, Integer pageNumber, Integer pageSize) {
+        log.debug("ProductService :: getReviews :: start");
+        int total = getProductById(productId).getReviewCount();
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+
+        // Page newest first over positions [from, to).
+        int to = (int) Math.max(total - (long) pageNumber * pageSize, 0);
+        int from = Math.max(to - pageSize, 0);
+        List<Review> reviews = to > from
+                ? newestFirst(reviewRepository.findBuckets(productId, from / REVIEW_BUCKET_SIZE,
+                        (to - 1) / REVIEW_BUCKET_SIZE), from, to)
+                : Collections.emptyList();
+        log.debug("ProductService :: getReviews :: end");
+        return new PageImpl<>(reviews, pageable, total);
+    }
+
+    // Buckets store reviews oldest first; returns positions [from, to) newest first.
+    static List<Review> newestFirst(List<ReviewBucket> buckets, int from, int to) {
+        List<Review> reviews = new ArrayList<>();
+        for (ReviewBucket bucket : buckets) {
+            List<Review> bucketReviews = bucket.getReviews();
+            for (int i = 0; i < bucketReviews.size(); i++) {
+                int position = bucket.getBucket() * REVIEW_BUCKET_SIZE + i;
+                if (position >= from && position < to) {
+                    reviews.add(bucketReviews.get(i));
+                }
+            }
+        }
+        Collections.reverse(reviews);
+        return reviews;
+    }
+
+    // Moves a pre-bucket embedded reviews array into review buckets. The claim has already reserved positions
+    // [base, base + n) and bumped the version; a crash leaves the claim in place and the next run writes the
+    // same positions, skipping buckets that were already written.
+    public int migrateLegacyReviews(String productId) {
+        Optional<LegacyReviews> legacy = productRepository.claimLegacyReviews(productId);
+        if (legacy.isEmpty()) {
+            return 0;
+        }
+        List<String> texts = legacy.get().getReviews();
+        int base = legacy.get().getBase();
+        int i = 0;
+        while (i < texts.size()) {
+            int position = base + i;
+            int bucket = position / REVIEW_BUCKET_SIZE;
+            int end = Math.min(texts.size(), (bucket + 1) * REVIEW_BUCKET_SIZE - base);
+            // legacy reviews carried no timestamp
+            List<Review> reviews = texts.subList(i, end).stream()
+                    .map(text -> new Review(text, null))
+                    .collect(Collectors.toList());
+            reviewRepository.insertLegacyReviews(productId, bucket, position % REVIEW_BUCKET_SIZE, reviews);
+            i = end;
+        }
+        Optional<Product> migrated = eventPublisher.inTransaction(() -> {
+            Optional<Product> cleared = productRepository.clearLegacyReviews(productId);
+            cleared.ifPresent(product -> eventPublisher.publish(toEvent(product, EventType.PRODUCT_UPDATED)));
+            return cleared;
+        });
+        if (migrated.isPresent()) {
+            applicationEventPublisher.publishEvent(new ProductChangedEvent(EventType.PRODUCT_UPDATED, productId));
+        }
+        return texts.size();
+    }
+
+    public byte[] getFeaturedProducts(ProductView view) {
+        log.debug("ProductService :: getFeaturedProducts :: start");
+        byte[] body = ProductView.SUMMARY == view
+                ? featuredProductsRanking.getSummaryBody()
+                : featuredProductsRanking.getBody();
+        if (null == body) {
+            Optional<List<Product>> products = productRepository.getFeaturedProducts();
+            if (products.isEmpty() || products.get().isEmpty()) {
+                throw new ResourceNotFoundException("No products found", RESOURCE_NOT_FOUND);
+            }
+            try {
+                body = objectMapper.writeValueAsBytes(ProductView.SUMMARY == view
+                        ? productMapper.toSummaryDtoList(products.get())
+                        : productMapper.toDtoList(products.get()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize featured products", e);
+            }
+        } else if (featuredProductsRanking.getFeatured().isEmpty()) {
             throw new ResourceNotFoundException("No products found", RESOURCE_NOT_FOUND);
         }
+        log.debug("ProductService :: getFeaturedProducts :: end");
+        return body;
     }
 
 
-    public void updateProduct(ProductRequest product, String id) {
-        log.info("ProductService :: updateProduct :: start");
-        if (productRepository.findProductById(id).isEmpty()) {
-            throw new ResourceNotFoundException("Product not present", RESOURCE_NOT_FOUND);
-        } else {
-            String categoryId = categoryService.getCategoryIdByName(product.getCategory());
-            if (!categoryId.isBlank()) {
-                Product productEntity = productMapper.toEntityFromRequest(product);
-                productEntity.setCategoryId(categoryId);
-                productEntity.setId(id);
-                Product saved = productRepository.save(productEntity);
-                eventPublisher.publish(toEvent(saved, EventType.PRODUCT_UPDATED));
-            } else {
-                throw new ResourceNotFoundException("Product Category does not exist", RESOURCE_NOT_FOUND);
+    public Long updateProduct(ProductRequest product, String id, Long expectedVersion) {
+        log.debug("ProductService :: updateProduct :: start");
+        String categoryId = categoryService.getCategoryIdByName(product.getCategory());
+        if (categoryId.isBlank()) {
+            throw new ResourceNotFoundException("Product Category does not exist", RESOURCE_NOT_FOUND);
+        }
+        Product productEntity = productMapper.toEntityFromRequest(product);
+        productEntity.setCategoryId(categoryId);
+        productEntity.setId(id);
+
+        Optional<Product> saved = eventPublisher.inTransaction(() -> {
+            Optional<Product> updated = productRepository.updateProduct(productEntity, expectedVersion);
+            updated.ifPresent(product -> eventPublisher.publish(toEvent(product, EventType.PRODUCT_UPDATED)));
+            return updated;
+        });
+        if (saved.isEmpty()) {
+            if (null != expectedVersion && productRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Product was modified by another request");
             }
-            log.info("ProductService :: updateProduct :: end");
+            throw new ResourceNotFoundException("Product not present", RESOURCE_NOT_FOUND);
         }
+        applicationEventPublisher.publishEvent(new ProductChangedEvent(EventType.PRODUCT_UPDATED, id));
+        log.debug("ProductService :: updateProduct :: end");
+        return saved.get().getVersion();
     }
 
     private ProductEvent toEvent(Product product, EventType type) {
@@ -163,7 +724,15 @@ public class ProductService {
                 product.getBrand(),
                 categoryService.getCategoryNameById(product.getCategoryId()),
                 product.getFeatures(),
-                Instant.now()
+                Instant.now(),
+                product.getCategoryId(),
+                eventVersion(product, type)
         );
     }
+
+    // A delete is ordered after the last write it removed, so it takes the next version.
+    private Long eventVersion(Product product, EventType type) {
+        long version = null == product.getVersion() ? 0L : product.getVersion();
+        return EventType.PRODUCT_DELETED == type ? version + 1 : version;
+    }
 }
@@ -0,0 +1,171 @@
+package com.ecom.product.service;
+
+import com.ecom.commons.ExceptionHandler.ResourceNotFoundException;
+import com.ecom.product.cache.CategoryDictionary;
+import com.ecom.product.cache.ProductCache;
+import com.ecom.product.dto.ProductDto;
+import com.ecom.product.dto.ProductView;
+import com.ecom.product.dto.Review;
+import com.ecom.product.dto.Versioned;
+import com.ecom.product.entity.Category;
+import com.ecom.product.entity.Product;
+import com.ecom.product.entity.ReviewBucket;
+import com.ecom.product.featured.FeaturedProductsRanking;
+import com.ecom.product.mapper.ProductMapper;
+import com.ecom.product.repository.ReactiveProductReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.ecom.product.helper.Constants.RESOURCE_NOT_FOUND;
+
+// Non-blocking counterpart of the ProductService read methods. Category names and ids come from
+// the in-memory CategoryDictionary; only a dictionary miss goes to Mongo, and then reactively.
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "product.read.reactive.enabled", havingValue = "true")
+public class ReactiveProductService {
+
+    private final ReactiveProductReader reactiveProductReader;
+    private final CategoryDictionary categoryDictionary;
+    private final ProductCache productCache;
+    private final ProductMapper productMapper;
+    private final FeaturedProductsRanking featuredProductsRanking;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.featured.size:5}")
+    private int featuredSize;
+
+    @Value("${product.reviews.embedded-latest:10}")
+    private int embeddedReviews;
+
+    public ReactiveProductService(ReactiveProductReader reactiveProductReader, CategoryDictionary categoryDictionary,
+                                  ProductCache productCache, ProductMapper productMapper,
+                                  FeaturedProductsRanking featuredProductsRanking, ObjectMapper objectMapper) {
+        this.reactiveProductReader = reactiveProductReader;
+        this.categoryDictionary = categoryDictionary;
+        this.productCache = productCache;
+        this.productMapper = productMapper;
+        this.featuredProductsRanking = featuredProductsRanking;
+        this.objectMapper = objectMapper;
+    }
+
+    public Mono<ProductDto> getProductById(String productId) {
+        return Mono.justOrEmpty(productCache.getIfPresent(productId))
+                .switchIfEmpty(Mono.defer(() -> {
+                    long invalidationMark = productCache.invalidationMark();
+                    return reactiveProductReader.findById(productId)
+                            .flatMap(this::toDetailDto)
+                            .doOnNext(productDto -> productCache.putIfNotInvalidated(productDto.getId(), productDto,
+                                    invalidationMark));
+                }))
+                .switchIfEmpty(Mono.error(() ->
+                        new ResourceNotFoundException("No product found with specified id", RESOURCE_NOT_FOUND)));
+    }
+
+    public Flux<Versioned> getAllProducts(ProductView view) {
+        return reactiveProductReader.findAll(view)
+                .map(product -> toDto(product, view))
+                .switchIfEmpty(Flux.error(() -> new ResourceNotFoundException("No products in the inventory", RESOURCE_NOT_FOUND)));
+    }
+
+    public Mono<Page<Versioned>> getFilteredProducts(Double min, Double max, Integer pageNumber, Integer pageSize,
+                                                     String sortBy, Boolean ascending, String category, String searchBy,
+                                                     ProductView view) {
+        Pageable pageable = (null != sortBy && !sortBy.isBlank())
+                ? PageRequest.of(pageNumber, pageSize, ascending ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy)
+                : PageRequest.of(pageNumber, pageSize);
+        return categoryId(category)
+                .flatMap(categoryId -> reactiveProductReader.getFilteredProducts(min, max, pageable, categoryId, searchBy, view))
+                .filter(products -> !products.isEmpty())
+                .map(products -> products.map(product -> toDto(product, view)))
+                .switchIfEmpty(Mono.error(() ->
+                        new ResourceNotFoundException("No products found with specified filters", RESOURCE_NOT_FOUND)));
+    }
+
+    public Mono<byte[]> getFeaturedProducts(ProductView view) {
+        byte[] body = ProductView.SUMMARY == view
+                ? featuredProductsRanking.getSummaryBody()
+                : featuredProductsRanking.getBody();
+        if (null != body) {
+            return featuredProductsRanking.getFeatured().isEmpty()
+                    ? Mono.error(() -> new ResourceNotFoundException("No products found", RESOURCE_NOT_FOUND))
+                    : Mono.just(body);
+        }
+        return reactiveProductReader.findFeatured(featuredSize)
+                .map(product -> toDto(product, view))
+                .collectList()
+                .filter(products -> !products.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No products found", RESOURCE_NOT_FOUND)))
+                .map(this::serialize);
+    }
+
+    // Like CategoryService.getCategoryIdByName: a dictionary miss (cold, or a category another node just
+    // created) is looked up in Mongo and cached, so the filter is never silently dropped.
+    private Mono<String> categoryId(String category) {
+        if (null == category || category.isBlank()) {
+            return Mono.just("");
+        }
+        String id = categoryDictionary.getIdsByName().get(category);
+        if (null != id) {
+            return Mono.just(id);
+        }
+        return reactiveProductReader.findCategoryByName(category)
+                .doOnNext(categoryDictionary::put)
+                .map(Category::getId)
+                .defaultIfEmpty("");
+    }
+
+    private Mono<ProductDto> toDetailDto(Product product) {
+        String categoryId = product.getCategoryId();
+        String name = null == categoryId ? "" : categoryDictionary.getNamesById().get(categoryId);
+        Mono<String> categoryName = null != name
+                ? Mono.just(name)
+                : reactiveProductReader.findCategoryName(categoryId).defaultIfEmpty("");
+        return categoryName.map(resolved -> {
+            product.setCategoryId(resolved);
+            return productMapper.toDto(product);
+        }).flatMap(this::withLatestReviews);
+    }
+
+    // Detail DTOs share the product cache with ProductService, so they embed the same latest reviews.
+    private Mono<ProductDto> withLatestReviews(ProductDto productDto) {
+        if (embeddedReviews <= 0) {
+            return Mono.just(productDto);
+        }
+        int to = null == productDto.getReviewCount() ? 0 : productDto.getReviewCount();
+        Flux<ReviewBucket> buckets = to > 0
+                ? reactiveProductReader.findLatestReviewBuckets(productDto.getId(), to, embeddedReviews)
+                : Flux.empty();
+        return buckets.collectList().map(latest -> {
+            productDto.setReviews(ProductService.newestFirst(latest, Math.max(to - embeddedReviews, 0), to).stream()
+                    .map(Review::getReview)
+                    .collect(Collectors.toList()));
+            return productDto;
+        });
+    }
+
+    private Versioned toDto(Product product, ProductView view) {
+        return ProductView.SUMMARY == view ? productMapper.toSummaryDto(product) : productMapper.toDto(product);
+    }
+
+    private byte[] serialize(List<Versioned> products) {
+        try {
+            return objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize featured products", e);
+        }
+    }
+}